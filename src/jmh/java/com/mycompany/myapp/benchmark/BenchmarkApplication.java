@@ -0,0 +1,43 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.Famarticav2App;
+import java.util.Arrays;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application for the benchmarks that need the full Spring context.
+ */
+final class BenchmarkApplication {
+
+    /**
+     * Database backed by an in-memory H2, see {@code application-benchmark-h2.yml}.
+     */
+    static final String H2 = "h2";
+
+    /**
+     * Database backed by a local MySQL, see {@code application-benchmark-mysql.yml}.
+     */
+    static final String MYSQL = "mysql";
+
+    private BenchmarkApplication() {}
+
+    /**
+     * Start the application on the given database.
+     *
+     * @param database the database, {@link #H2} or {@link #MYSQL}.
+     * @param properties properties overriding the configuration of the profiles, as {@code key=value}.
+     */
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(Famarticav2App.class);
+        if (MYSQL.equals(database)) {
+            builder.profiles("benchmark", "benchmark-mysql");
+        } else if (H2.equals(database)) {
+            builder.profiles("benchmark", "benchmark-h2");
+        } else {
+            throw new IllegalArgumentException("Unknown benchmark database: " + database);
+        }
+        // As command line arguments, which take precedence over the configuration files
+        return builder.run(Arrays.stream(properties).map(property -> "--" + property).toArray(String[]::new));
+    }
+}
@@ -0,0 +1,76 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * Loading of a user by {@link com.mycompany.myapp.security.DomainUserDetailsService}, as done on each login, with the
+ * caches warm and cold.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DomainUserDetailsServiceBenchmark {
+
+    private static final String LOGIN = "admin";
+
+    @Param({ BenchmarkApplication.H2 })
+    private String database;
+
+    private ConfigurableApplicationContext context;
+
+    private UserDetailsService userDetailsService;
+
+    private CacheManager cacheManager;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start(database);
+        userDetailsService = context.getBean(UserDetailsService.class);
+        cacheManager = context.getBean(CacheManager.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsernameCacheWarm() {
+        return userDetailsService.loadUserByUsername(LOGIN);
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsernameCacheCold() {
+        // Evicting is part of the measure, but negligible next to the queries it causes
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(LOGIN);
+        entityManagerFactory.getCache().evict(User.class);
+        return userDetailsService.loadUserByUsername(LOGIN);
+    }
+}
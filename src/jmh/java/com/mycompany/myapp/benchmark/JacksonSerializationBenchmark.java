@@ -0,0 +1,107 @@
+package com.mycompany.myapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mycompany.myapp.config.JacksonConfiguration;
+import com.mycompany.myapp.domain.Inventario;
+import com.mycompany.myapp.domain.Medicamento;
+import com.mycompany.myapp.repository.InventarioRepository.InventarioSummary;
+import com.mycompany.myapp.repository.MedicamentoRepository.MedicamentoSummary;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of the response bodies of the medicamento and inventario listings, with the Jackson modules of
+ * {@link JacksonConfiguration}: as entities, and as the summaries the listings actually return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({ "20", "1000" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<Medicamento> medicamentos;
+
+    private List<Inventario> inventarios;
+
+    private List<MedicamentoSummary> medicamentoSummaries;
+
+    private List<InventarioSummary> inventarioSummaries;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper =
+            JsonMapper
+                .builder()
+                .addModules(
+                    jacksonConfiguration.javaTimeModule(),
+                    jacksonConfiguration.jdk8TimeModule(),
+                    jacksonConfiguration.hibernate6Module()
+                )
+                .build();
+
+        medicamentos = new ArrayList<>(size);
+        inventarios = new ArrayList<>(size);
+        medicamentoSummaries = new ArrayList<>(size);
+        inventarioSummaries = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            Medicamento medicamento = new Medicamento()
+                .id(id)
+                .nombre("Ibuprofeno " + id + "mg")
+                .descripcion("Antiinflamatorio no esteroideo, comprimidos recubiertos")
+                .precio(id * 0.25);
+            medicamento.setVersion(0L);
+            medicamentos.add(medicamento);
+
+            Inventario inventario = new Inventario().id(id).cantidadStock((int) id).medicamento(medicamento);
+            inventario.setVersion(0L);
+            inventarios.add(inventario);
+
+            medicamentoSummaries.add(
+                new MedicamentoSummary(id, medicamento.getNombre(), medicamento.getDescripcion(), medicamento.getPrecio(), 0L)
+            );
+            inventarioSummaries.add(new InventarioSummary(id, (int) id, 0L, id));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeMedicamentos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(medicamentos);
+    }
+
+    @Benchmark
+    public byte[] serializeInventarios() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(inventarios);
+    }
+
+    @Benchmark
+    public byte[] serializeMedicamentoSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(medicamentoSummaries);
+    }
+
+    @Benchmark
+    public byte[] serializeInventarioSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(inventarioSummaries);
+    }
+}
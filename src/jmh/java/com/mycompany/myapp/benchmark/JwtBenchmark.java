@@ -0,0 +1,138 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.SecurityJwtConfiguration;
+import com.mycompany.myapp.domain.JwtKey;
+import com.mycompany.myapp.management.SecurityMetersService;
+import com.mycompany.myapp.repository.JwtKeyRepository;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.jwt.CachingJwtDecoder;
+import com.mycompany.myapp.security.jwt.JwtKeyRing;
+import com.mycompany.myapp.security.jwt.TokenProvider;
+import com.mycompany.myapp.security.jwt.TokenRevocationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Issuing of an access token by {@link TokenProvider#createAccessToken}, and decoding by the {@link JwtDecoder} of
+ * {@link SecurityJwtConfiguration}, which runs on every authenticated request: {@code decodeToken} hits the cache of
+ * decoded tokens, {@code decodeTokenUncached} verifies, parses and checks the revocation of the token every time, and
+ * {@code decodeTokenWithInvalidSignature} is the path of a replayed forged token. The key ring holds a few rotated keys,
+ * the newest one signing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    /**
+     * The secret of the test configuration.
+     */
+    private static final String BASE64_SECRET =
+        "ZDFlOTA5NGMzNDBkN2M3M2ZiN2Q5YWY5ZjllNGQ5NjUxODE0NWQ0YjMxMDg0Mzc3NWM5MTdjZGUyYjAyYWE2NjI3MjBiMzgzNjJiOTg1MmEzMTg5ZjMxODU1NGJhNmY1MjE5YzdkZDk3OGI2ZDlhNmIzYWJhYzE1ODQxMjI2ZmE=";
+
+    private TokenProvider tokenProvider;
+
+    private CachingJwtDecoder jwtDecoder;
+
+    private Authentication authentication;
+
+    private String token;
+
+    private String tokenWithInvalidSignature;
+
+    @Setup
+    public void setup() {
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", BASE64_SECRET);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        // No token is revoked: the revocation check never goes past the in-memory filter
+        TokenRevocationService tokenRevocationService = new TokenRevocationService(
+            Mockito.mock(RevokedTokenRepository.class),
+            applicationProperties
+        );
+        JwtKeyRepository jwtKeyRepository = Mockito.mock(JwtKeyRepository.class);
+        List<JwtKey> storedKeys = new ArrayList<>();
+        Mockito.when(jwtKeyRepository.findAllByOrderByCreatedDateAsc()).thenAnswer(invocation -> List.copyOf(storedKeys));
+        Mockito
+            .when(jwtKeyRepository.saveAndFlush(Mockito.any()))
+            .thenAnswer(invocation -> {
+                storedKeys.add(invocation.getArgument(0));
+                return invocation.getArgument(0);
+            });
+        JwtKeyRing jwtKeyRing = securityJwtConfiguration.jwtKeyRing(jwtKeyRepository);
+        for (int i = 0; i < 3; i++) {
+            jwtKeyRing.rotate();
+        }
+        jwtDecoder =
+            securityJwtConfiguration.jwtDecoder(
+                new SecurityMetersService(meterRegistry),
+                meterRegistry,
+                applicationProperties,
+                tokenRevocationService,
+                jwtKeyRing
+            );
+
+        tokenProvider = new TokenProvider(securityJwtConfiguration.jwtEncoder(jwtKeyRing), applicationProperties, 3600L, 3600L);
+        authentication =
+            new UsernamePasswordAuthenticationToken(
+                "admin",
+                null,
+                List.of(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN), new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+            );
+        token = tokenProvider.createAccessToken(authentication);
+        tokenWithInvalidSignature = token.substring(0, token.lastIndexOf('.') + 1) + "AAAA" + token.substring(token.lastIndexOf('.') + 5);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createAccessToken(authentication);
+    }
+
+    @Benchmark
+    public Jwt decodeToken() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeTokenUncached() {
+        jwtDecoder.invalidateAll();
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public JwtException decodeTokenWithInvalidSignature() {
+        try {
+            jwtDecoder.decode(tokenWithInvalidSignature);
+            throw new IllegalStateException("The token should be rejected");
+        } catch (JwtException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.domain.Inventario;
+import com.mycompany.myapp.domain.Medicamento;
+import com.mycompany.myapp.repository.InventarioRepository;
+import com.mycompany.myapp.repository.MedicamentoRepository;
+import com.mycompany.myapp.repository.MedicamentoRepository.MedicamentoSummary;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Repository reads of medicamentos, with the second-level cache warm and cold, and listing pages, as entities and as
+ * summaries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MedicamentoRepositoryBenchmark {
+
+    private static final int MEDICAMENTOS = 1000;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ BenchmarkApplication.H2 })
+    private String database;
+
+    private ConfigurableApplicationContext context;
+
+    private MedicamentoRepository medicamentoRepository;
+
+    private InventarioRepository inventarioRepository;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private long[] ids;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start(database);
+        medicamentoRepository = context.getBean(MedicamentoRepository.class);
+        inventarioRepository = context.getBean(InventarioRepository.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        List<Medicamento> medicamentos = new ArrayList<>(MEDICAMENTOS);
+        for (int i = 0; i < MEDICAMENTOS; i++) {
+            medicamentos.add(new Medicamento().nombre("Medicamento " + i).descripcion("Descripcion " + i).precio(i * 0.5));
+        }
+        medicamentos = medicamentoRepository.saveAll(medicamentos);
+        inventarioRepository.saveAll(medicamentos.stream().map(m -> new Inventario().cantidadStock(100).medicamento(m)).toList());
+        ids = medicamentos.stream().mapToLong(Medicamento::getId).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        // A MySQL database outlives the benchmark
+        inventarioRepository.deleteAllInBatch();
+        medicamentoRepository.deleteAllInBatch();
+        context.close();
+    }
+
+    @Benchmark
+    public Medicamento findByIdCacheWarm() {
+        return medicamentoRepository.findById(nextId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Medicamento findByIdCacheCold() {
+        long id = nextId();
+        // Evicting is part of the measure, but negligible next to the query it causes
+        entityManagerFactory.getCache().evict(Medicamento.class, id);
+        return medicamentoRepository.findById(id).orElseThrow();
+    }
+
+    @Benchmark
+    public Page<Medicamento> findAllOffsetPage() {
+        return medicamentoRepository.findAll(PageRequest.of(nextIndex() % (MEDICAMENTOS / PAGE_SIZE), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<MedicamentoSummary> findAllSummariesOffsetPage() {
+        return medicamentoRepository.findAllSummaries(PageRequest.of(nextIndex() % (MEDICAMENTOS / PAGE_SIZE), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Slice<MedicamentoSummary> findSummariesKeysetPage() {
+        return medicamentoRepository.findSummariesByIdGreaterThan(nextId(), PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.ASC, "id")));
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % ids.length;
+        return next;
+    }
+
+    private long nextId() {
+        return ids[nextIndex()];
+    }
+}
@@ -0,0 +1,129 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.domain.Inventario;
+import com.mycompany.myapp.domain.Medicamento;
+import com.mycompany.myapp.repository.InventarioRepository;
+import com.mycompany.myapp.repository.InventarioRepository.InventarioSummary;
+import com.mycompany.myapp.repository.MedicamentoRepository;
+import com.mycompany.myapp.repository.MedicamentoRepository.MedicamentoSummary;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Listings with the query cache on and off: the medicamento catalog, where the query cache hits, and, as a control,
+ * the stock listing, alone and along with concurrent stock writes, which is left out of the query cache since each
+ * write would invalidate it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryCacheBenchmark {
+
+    private static final int MEDICAMENTOS = 1000;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int PAGES = 50;
+
+    @Param({ BenchmarkApplication.H2 })
+    private String database;
+
+    @Param({ "true", "false" })
+    private boolean queryCache;
+
+    private ConfigurableApplicationContext context;
+
+    private MedicamentoRepository medicamentoRepository;
+
+    private InventarioRepository inventarioRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private long[] inventarioIds;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start(database, "spring.jpa.properties.hibernate.cache.use_query_cache=" + queryCache);
+        medicamentoRepository = context.getBean(MedicamentoRepository.class);
+        inventarioRepository = context.getBean(InventarioRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Medicamento> medicamentos = new ArrayList<>(MEDICAMENTOS);
+        for (int i = 0; i < MEDICAMENTOS; i++) {
+            medicamentos.add(new Medicamento().nombre("Medicamento " + i).descripcion("Descripcion " + i).precio(i * 0.5));
+        }
+        medicamentos = medicamentoRepository.saveAll(medicamentos);
+        inventarioIds =
+            inventarioRepository
+                .saveAll(medicamentos.stream().map(m -> new Inventario().cantidadStock(100).medicamento(m)).toList())
+                .stream()
+                .mapToLong(Inventario::getId)
+                .toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        // A MySQL database outlives the benchmark
+        inventarioRepository.deleteAllInBatch();
+        medicamentoRepository.deleteAllInBatch();
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MedicamentoSummary> listing() {
+        return medicamentoRepository.findAllSummaries(PageRequest.of(ThreadLocalRandom.current().nextInt(PAGES), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<InventarioSummary> stockListing() {
+        return inventarioRepository.findAllSummaries();
+    }
+
+    @Benchmark
+    public Integer stockWrite() {
+        return incrementStock();
+    }
+
+    @Benchmark
+    @Group("stockListingUnderWrites")
+    @GroupThreads(3)
+    public List<InventarioSummary> stockListingUnderWrites() {
+        return inventarioRepository.findAllSummaries();
+    }
+
+    @Benchmark
+    @Group("stockListingUnderWrites")
+    @GroupThreads(1)
+    public Integer stockWriteUnderListings() {
+        return incrementStock();
+    }
+
+    private Integer incrementStock() {
+        long id = inventarioIds[ThreadLocalRandom.current().nextInt(inventarioIds.length)];
+        return transactionTemplate.execute(status -> inventarioRepository.incrementCantidadStock(id, 1).orElseThrow());
+    }
+}
@@ -0,0 +1,112 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.config.VirtualThreads;
+import com.mycompany.myapp.config.VirtualThreadsConfiguration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Load test of the request dispatch with a slow database, for the threading modes of {@link VirtualThreadsConfiguration}:
+ * {@code platform} runs the requests on the Undertow worker pool (8 threads per core by default), {@code virtual} on a
+ * virtual thread each. A request holds one of the {@code connections} of the pool for {@code dbLatencyMillis}, like a
+ * query to a remote database.
+ * <p>
+ * {@code burst} dispatches {@value #BURST_REQUESTS} requests at once and waits for all of them, its time giving the
+ * throughput; {@code request} samples the latency of a request among {@value #CLIENTS} concurrent clients. The
+ * {@code virtual} mode needs the benchmarks to run on Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 4)
+@Fork(1)
+public class ThreadingModeBenchmark {
+
+    private static final int BURST_REQUESTS = 1000;
+
+    private static final int CLIENTS = 200;
+
+    @Param({ "platform", "virtual" })
+    private String mode;
+
+    @Param({ "10", "50" })
+    private int connections;
+
+    @Param({ "20" })
+    private int dbLatencyMillis;
+
+    private ExecutorService platformExecutor;
+
+    private SimpleAsyncTaskExecutor virtualExecutor;
+
+    private Semaphore connectionPool;
+
+    @Setup
+    public void setup() {
+        if ("virtual".equals(mode)) {
+            virtualExecutor = VirtualThreads.taskExecutor("undertow-");
+        } else {
+            platformExecutor = Executors.newFixedThreadPool(8 * Math.max(Runtime.getRuntime().availableProcessors(), 2));
+        }
+        connectionPool = new Semaphore(connections, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void burst() {
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[BURST_REQUESTS];
+        for (int i = 0; i < BURST_REQUESTS; i++) {
+            requests[i] = dispatch();
+        }
+        CompletableFuture.allOf(requests).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(CLIENTS)
+    public void request() {
+        dispatch().join();
+    }
+
+    private CompletableFuture<Void> dispatch() {
+        return CompletableFuture.runAsync(this::query, platformExecutor != null ? platformExecutor : virtualExecutor);
+    }
+
+    private void query() {
+        try {
+            connectionPool.acquire();
+            try {
+                Thread.sleep(dbLatencyMillis);
+            } finally {
+                connectionPool.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
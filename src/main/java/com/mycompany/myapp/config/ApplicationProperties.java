@@ -1,6 +1,10 @@
 package com.mycompany.myapp.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Famarticav 2.
@@ -10,7 +14,561 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final StockMovement stockMovement = new StockMovement();
+
+    private final Suggestion suggestion = new Suggestion();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final AccessToken accessToken = new AccessToken();
+
+    private final TokenRevocation tokenRevocation = new TokenRevocation();
+
+    private final LoginRateLimit loginRateLimit = new LoginRateLimit();
+
+    private final MailDispatch mailDispatch = new MailDispatch();
+
+    private final Cache cache = new Cache();
+
     // jhipster-needle-application-properties-property
+
+    public StockMovement getStockMovement() {
+        return stockMovement;
+    }
+
+    public Suggestion getSuggestion() {
+        return suggestion;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public AccessToken getAccessToken() {
+        return accessToken;
+    }
+
+    public TokenRevocation getTokenRevocation() {
+        return tokenRevocation;
+    }
+
+    public LoginRateLimit getLoginRateLimit() {
+        return loginRateLimit;
+    }
+
+    public MailDispatch getMailDispatch() {
+        return mailDispatch;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class StockMovement {
+
+        /**
+         * Number of attempts of a batch of stock movements that conflicts with a concurrent update.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Delay before the first retry, doubled on each following retry.
+         */
+        private Duration backoff = Duration.ofMillis(20);
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getBackoff() {
+            return backoff;
+        }
+
+        public void setBackoff(Duration backoff) {
+            this.backoff = backoff;
+        }
+    }
+
+    public static class Suggestion {
+
+        /**
+         * Delay between the end of a rebuild of the typeahead index and the start of the next one.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(1);
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Maximum number of decoded tokens kept in memory.
+         */
+        private int maxEntries = 10_000;
+
+        /**
+         * Maximum time a decoded token is kept, even if it expires later.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Log2 of the number of BCrypt rounds of the new hashes: each increment doubles the time to hash a password.
+         * Passwords hashed with fewer rounds are hashed again on the next successful login.
+         */
+        private int bcryptStrength = 10;
+
+        /**
+         * Number of threads verifying the passwords of the logins.
+         */
+        private int threads = 4;
+
+        /**
+         * Number of logins waiting for a thread before new ones are answered with a 503.
+         */
+        private int queueCapacity = 100;
+
+        public int getBcryptStrength() {
+            return bcryptStrength;
+        }
+
+        public void setBcryptStrength(int bcryptStrength) {
+            this.bcryptStrength = bcryptStrength;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class AccessToken {
+
+        /**
+         * Validity of the access tokens. The refresh tokens are valid for
+         * {@code jhipster.security.authentication.jwt.token-validity-in-seconds(-for-remember-me)}.
+         */
+        private Duration validity = Duration.ofMinutes(15);
+
+        public Duration getValidity() {
+            return validity;
+        }
+
+        public void setValidity(Duration validity) {
+            this.validity = validity;
+        }
+    }
+
+    public static class TokenRevocation {
+
+        /**
+         * Number of revoked tokens the in-memory filter is sized for before its false positive rate degrades.
+         */
+        private int expectedInsertions = 100_000;
+
+        /**
+         * Rate of the tokens wrongly suspected of being revoked, which are then looked up in the database.
+         */
+        private double falsePositiveProbability = 0.001;
+
+        /**
+         * Delay between the end of a rebuild of the filter from the database and the start of the next one, which is how
+         * long another instance accepts a token revoked by this one: keep it well below the validity of the access tokens.
+         */
+        private Duration rebuildInterval = Duration.ofMinutes(1);
+
+        public int getExpectedInsertions() {
+            return expectedInsertions;
+        }
+
+        public void setExpectedInsertions(int expectedInsertions) {
+            this.expectedInsertions = expectedInsertions;
+        }
+
+        public double getFalsePositiveProbability() {
+            return falsePositiveProbability;
+        }
+
+        public void setFalsePositiveProbability(double falsePositiveProbability) {
+            this.falsePositiveProbability = falsePositiveProbability;
+        }
+
+        public Duration getRebuildInterval() {
+            return rebuildInterval;
+        }
+
+        public void setRebuildInterval(Duration rebuildInterval) {
+            this.rebuildInterval = rebuildInterval;
+        }
+    }
+
+    public static class LoginRateLimit {
+
+        /**
+         * Number of login attempts a client address can make in a burst, refilled over {@code address-refill-period}.
+         */
+        private int addressCapacity = 20;
+
+        private Duration addressRefillPeriod = Duration.ofMinutes(1);
+
+        /**
+         * Number of login attempts on a login in a burst, whatever the client address, refilled over
+         * {@code login-refill-period}.
+         */
+        private int loginCapacity = 5;
+
+        private Duration loginRefillPeriod = Duration.ofMinutes(1);
+
+        /**
+         * Number of client addresses, and of logins, tracked at most: beyond, a new one replaces the one nearest to a full
+         * bucket.
+         */
+        private int maxEntries = 100_000;
+
+        public int getAddressCapacity() {
+            return addressCapacity;
+        }
+
+        public void setAddressCapacity(int addressCapacity) {
+            this.addressCapacity = addressCapacity;
+        }
+
+        public Duration getAddressRefillPeriod() {
+            return addressRefillPeriod;
+        }
+
+        public void setAddressRefillPeriod(Duration addressRefillPeriod) {
+            this.addressRefillPeriod = addressRefillPeriod;
+        }
+
+        public int getLoginCapacity() {
+            return loginCapacity;
+        }
+
+        public void setLoginCapacity(int loginCapacity) {
+            this.loginCapacity = loginCapacity;
+        }
+
+        public Duration getLoginRefillPeriod() {
+            return loginRefillPeriod;
+        }
+
+        public void setLoginRefillPeriod(Duration loginRefillPeriod) {
+            this.loginRefillPeriod = loginRefillPeriod;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class MailDispatch {
+
+        /**
+         * Number of emails waiting in memory to be sent: beyond, they wait in the outbox table for the next poll.
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * Maximum number of emails sent over one SMTP connection.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Number of attempts of an email before it is marked as failed.
+         */
+        private int maxAttempts = 8;
+
+        /**
+         * Delay before the first retry, doubled on each following retry up to {@code max-backoff}.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the disk tiers, which must not be shared by two instances.
+         */
+        private String diskPath = System.getProperty("java.io.tmpdir") + "/famarticav/ehcache";
+
+        /**
+         * Sizing, tiers and expiry of the caches, by cache name: the caches not listed, and the settings not given, use
+         * {@code jhipster.cache.ehcache.*}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final Warmup warmup = new Warmup();
+
+        private final Statistics statistics = new Statistics();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public Warmup getWarmup() {
+            return warmup;
+        }
+
+        public Statistics getStatistics() {
+            return statistics;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries on heap, {@code jhipster.cache.ehcache.max-entries} by default.
+             */
+            private Integer heapEntries;
+
+            /**
+             * Size of the off-heap tier, none by default: its entries are serialized, and take no room in the heap.
+             */
+            private DataSize offHeap;
+
+            /**
+             * Size of the disk tier, none by default, larger than the off-heap tier if any.
+             */
+            private DataSize disk;
+
+            /**
+             * Time an entry is kept after being written, {@code jhipster.cache.ehcache.time-to-live-seconds} by default.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Time an entry is kept after being last read or written, instead of the time to live.
+             */
+            private Duration timeToIdle;
+
+            public Integer getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Integer heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public DataSize getOffHeap() {
+                return offHeap;
+            }
+
+            public void setOffHeap(DataSize offHeap) {
+                this.offHeap = offHeap;
+            }
+
+            public DataSize getDisk() {
+                return disk;
+            }
+
+            public void setDisk(DataSize disk) {
+                this.disk = disk;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+
+        public static class Warmup {
+
+            /**
+             * Whether the catalog and the authorities are loaded in the second-level cache once the application is
+             * ready, the readiness probe being out of service until then.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Number of threads loading the catalog, each one with its own database connection.
+             */
+            private int threads = 4;
+
+            /**
+             * Number of medicamentos loaded per query.
+             */
+            private int batchSize = 500;
+
+            /**
+             * Time after which the warm-up is abandoned, and the application reported as ready anyway.
+             */
+            private Duration timeout = Duration.ofMinutes(2);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+
+        public static class Statistics {
+
+            /**
+             * Whether the caches count their hits, misses, puts and evictions, exported as {@code cache.*} metrics.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Fraction of the query executions recorded in the Hibernate query statistics, when
+             * {@code hibernate.generate_statistics} is on: below 1, the per-query counts are a sample.
+             */
+            private double querySampleRate = 1.0;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public double getQuerySampleRate() {
+                return querySampleRate;
+            }
+
+            public void setQuerySampleRate(double querySampleRate) {
+                this.querySampleRate = querySampleRate;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -9,6 +9,8 @@ import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -25,13 +27,20 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final Environment env;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, Environment env) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.env = env;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        if (env.acceptsProfiles(Profiles.of(Constants.SPRING_PROFILE_VIRTUAL_THREADS))) {
+            log.debug("Creating Async Task Executor on virtual threads");
+            return new ExceptionHandlingAsyncTaskExecutor(VirtualThreads.taskExecutor(taskExecutionProperties.getThreadNamePrefix()));
+        }
         log.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
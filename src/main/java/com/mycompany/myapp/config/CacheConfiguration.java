@@ -1,9 +1,20 @@
 package com.mycompany.myapp.config;
 
+import java.io.File;
+import java.io.Serializable;
 import java.time.Duration;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -15,29 +26,64 @@ import org.springframework.context.annotation.*;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
+/**
+ * The caches, configured one by one by {@code application.cache.regions.*}: a large read-mostly region can live
+ * off-heap, or on disk, while the small ones stay on heap, and each region has its own expiry.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final ApplicationProperties.Cache.Region DEFAULT_REGION = new ApplicationProperties.Cache.Region();
+
+    private final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final ApplicationProperties.Cache cacheProperties;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
 
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
-            );
+    /**
+     * The cache manager, in place of the one of Spring Boot, to give the disk tiers their directory.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder().withClassLoader(
+            cachingProvider.getDefaultClassLoader()
+        );
+        if (cacheProperties.getRegions().values().stream().anyMatch(region -> region.getDisk() != null)) {
+            configuration = configuration.withService(new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskPath())));
+        }
+        javax.cache.CacheManager cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), configuration.build());
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        cacheProperties
+            .getRegions()
+            .keySet()
+            .stream()
+            .filter(cacheName -> cacheManager.getCache(cacheName) == null)
+            .forEach(cacheName -> log.warn("No cache {}, its application.cache.regions settings are ignored", cacheName));
+        return cacheManager;
     }
 
     @Bean
     public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
-        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            if (cacheProperties.getStatistics().getQuerySampleRate() < 1.0) {
+                hibernateProperties.put(
+                    SamplingStatistics.STATS_FACTORY,
+                    SamplingStatistics.factory(cacheProperties.getStatistics().getQuerySampleRate())
+                );
+            }
+        };
     }
 
     @Bean
@@ -45,11 +91,15 @@ public class CacheConfiguration {
         return cm -> {
             createCache(cm, com.mycompany.myapp.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, com.mycompany.myapp.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, com.mycompany.myapp.security.DomainUserCache.USER_DETAILS_CACHE);
             createCache(cm, com.mycompany.myapp.domain.User.class.getName());
             createCache(cm, com.mycompany.myapp.domain.Authority.class.getName());
             createCache(cm, com.mycompany.myapp.domain.User.class.getName() + ".authorities");
             createCache(cm, com.mycompany.myapp.domain.Medicamento.class.getName());
             createCache(cm, com.mycompany.myapp.domain.Inventario.class.getName());
+            createCache(cm, com.mycompany.myapp.repository.QueryCacheable.REGION);
+            createCache(cm, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            createCache(cm, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -59,8 +109,43 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName));
         }
+        cm.enableStatistics(cacheName, cacheProperties.getStatistics().isEnabled());
+    }
+
+    javax.cache.configuration.Configuration<?, ?> jcacheConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().getOrDefault(cacheName, DEFAULT_REGION);
+        if (region.getTimeToLive() != null && region.getTimeToIdle() != null) {
+            throw new IllegalArgumentException("The cache " + cacheName + " has both a time to live and a time to idle");
+        }
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries()
+        );
+        if (region.getOffHeap() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeap().toMegabytes(), MemoryUnit.MB);
+        }
+        if (region.getDisk() != null) {
+            resourcePools = resourcePools.disk(region.getDisk().toMegabytes(), MemoryUnit.MB, false);
+        }
+        ExpiryPolicy<Object, Object> expiry = region.getTimeToIdle() != null
+            ? ExpiryPolicyBuilder.timeToIdleExpiration(region.getTimeToIdle())
+            : ExpiryPolicyBuilder.timeToLiveExpiration(
+                region.getTimeToLive() != null ? region.getTimeToLive() : Duration.ofSeconds(ehcache.getTimeToLiveSeconds())
+            );
+        // The entries beyond the heap are serialized, and the heap-only caches keep storing them by reference
+        Class<?> type = region.getOffHeap() != null || region.getDisk() != null ? Serializable.class : Object.class;
+        return newJcacheConfiguration(type, resourcePools, expiry);
+    }
+
+    private static <T> javax.cache.configuration.Configuration<T, T> newJcacheConfiguration(
+        Class<T> type,
+        ResourcePoolsBuilder resourcePools,
+        ExpiryPolicy<Object, Object> expiry
+    ) {
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(type, type, resourcePools).withExpiry(expiry).build()
+        );
     }
 
     @Autowired(required = false)
@@ -0,0 +1,150 @@
+package com.mycompany.myapp.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint of the cache and query statistics, to size the regions of {@link CacheConfiguration}: the hits,
+ * misses, puts and evictions of each cache, and the executions of each query, slowest in total first. A {@code DELETE}
+ * resets them, to measure a given load.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private final javax.cache.CacheManager cacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationProperties.Cache.Statistics statisticsProperties;
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public CacheStatsEndpoint(
+        javax.cache.CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties
+    ) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.statisticsProperties = applicationProperties.getCache().getStatistics();
+    }
+
+    @ReadOperation
+    public CacheStatsDescriptor stats() {
+        Map<String, RegionStats> regions = new TreeMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            CacheStatisticsMXBean cacheStatistics = cacheStatistics(cacheName);
+            if (cacheStatistics != null) {
+                regions.put(cacheName, RegionStats.of(cacheStatistics));
+            }
+        }
+        Statistics statistics = hibernateStatistics();
+        Map<String, QueryStats> queries = new LinkedHashMap<>();
+        if (statistics.isStatisticsEnabled()) {
+            Arrays
+                .stream(statistics.getQueries())
+                .map(query -> Map.entry(query, QueryStats.of(query, statistics.getQueryStatistics(query))))
+                .sorted(Map.Entry.<String, QueryStats>comparingByValue(Comparator.comparingLong(QueryStats::totalMillis)).reversed())
+                .forEach(entry -> queries.put(entry.getKey(), entry.getValue()));
+        }
+        return new CacheStatsDescriptor(statistics.isStatisticsEnabled(), statisticsProperties.getQuerySampleRate(), regions, queries);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            CacheStatisticsMXBean cacheStatistics = cacheStatistics(cacheName);
+            if (cacheStatistics != null) {
+                cacheStatistics.clear();
+            }
+        }
+        hibernateStatistics().clear();
+    }
+
+    private Statistics hibernateStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * The statistics of a cache, registered by the cache manager when they are enabled, {@code null} otherwise.
+     */
+    private CacheStatisticsMXBean cacheStatistics(String cacheName) {
+        try {
+            ObjectName objectName = new ObjectName(
+                "javax.cache:type=CacheStatistics,CacheManager=" + sanitize(cacheManager.getURI().toString()) + ",Cache=" + sanitize(cacheName)
+            );
+            return mBeanServer.isRegistered(objectName) ? JMX.newMXBeanProxy(mBeanServer, objectName, CacheStatisticsMXBean.class) : null;
+        } catch (MalformedObjectNameException e) {
+            return null;
+        }
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[,:=\n]", ".");
+    }
+
+    /**
+     * The statistics of the caches and of the queries.
+     *
+     * @param queryStatisticsEnabled whether {@code hibernate.generate_statistics} is on.
+     * @param querySampleRate the fraction of the query executions recorded.
+     * @param regions the statistics of the caches with statistics enabled, by name.
+     * @param queries the statistics of the queries by text, slowest in total first.
+     */
+    public record CacheStatsDescriptor(
+        boolean queryStatisticsEnabled,
+        double querySampleRate,
+        Map<String, RegionStats> regions,
+        Map<String, QueryStats> queries
+    ) {}
+
+    public record RegionStats(long hits, long misses, float hitPercentage, long puts, long removals, long evictions, float averageGetMicros) {
+        static RegionStats of(CacheStatisticsMXBean statistics) {
+            return new RegionStats(
+                statistics.getCacheHits(),
+                statistics.getCacheMisses(),
+                statistics.getCacheHitPercentage(),
+                statistics.getCachePuts(),
+                statistics.getCacheRemovals(),
+                statistics.getCacheEvictions(),
+                statistics.getAverageGetTime()
+            );
+        }
+    }
+
+    /**
+     * The statistics of a query.
+     *
+     * @param name the name of the query in the {@code hibernate.query.*} metrics, see {@link HibernateQueryMetrics#queryName(String)}.
+     */
+    public record QueryStats(String name, long executions, long rows, long totalMillis, double averageMillis, long maxMillis) {
+        static QueryStats of(String query, QueryStatistics statistics) {
+            return new QueryStats(
+                HibernateQueryMetrics.queryName(query),
+                statistics.getExecutionCount(),
+                statistics.getExecutionRowCount(),
+                statistics.getExecutionTotalTime(),
+                statistics.getExecutionAvgTimeAsDouble(),
+                statistics.getExecutionMaxTime()
+            );
+        }
+    }
+}
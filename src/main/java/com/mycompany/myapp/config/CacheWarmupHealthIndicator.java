@@ -0,0 +1,30 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.service.CacheWarmupService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code cacheWarmup} health of the readiness group: out of service, like a {@code REFUSING_TRAFFIC} readiness
+ * state, until the cache warm-up is finished or abandoned.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService cacheWarmupService;
+
+    public CacheWarmupHealthIndicator(CacheWarmupService cacheWarmupService) {
+        this.cacheWarmupService = cacheWarmupService;
+    }
+
+    @Override
+    public Health health() {
+        CacheWarmupService.Progress progress = cacheWarmupService.getProgress();
+        return (progress.state().isFinished() ? Health.up() : Health.outOfService()).withDetail("state", progress.state())
+            .withDetail("loaded", progress.loaded())
+            .withDetail("total", progress.total())
+            .withDetail("elapsed", progress.elapsed().toMillis() + " ms")
+            .build();
+    }
+}
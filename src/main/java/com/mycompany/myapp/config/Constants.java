@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "es";
 
+    // Spring profile running the requests and the asynchronous tasks on virtual threads
+    public static final String SPRING_PROFILE_VIRTUAL_THREADS = "virtual-threads";
+
     private Constants() {}
 }
@@ -0,0 +1,142 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics of the queries, from the Hibernate statistics: {@code hibernate.query.executions}, a timer of the executions,
+ * {@code hibernate.query.execution.max} and {@code hibernate.query.rows}, tagged with the {@link #queryName(String) name}
+ * of the query rather than its text, which stays in the {@code cachestats} management endpoint. At most
+ * {@value #MAX_METERED_QUERIES} queries are metered, so that queries built on the fly cannot flood the registry.
+ * <p>
+ * The queries show up in the statistics when they are first executed: the new ones get their meters on the next
+ * refresh, every minute, like the step of the Prometheus registry. Nothing is recorded unless
+ * {@code hibernate.generate_statistics} is on, and only a sample below an {@code application.cache.statistics.query-sample-rate}
+ * of 1.
+ */
+@Component
+public class HibernateQueryMetrics implements SmartInitializingSingleton {
+
+    static final int MAX_METERED_QUERIES = 200;
+
+    /**
+     * The entity a query reads or writes: the first one after {@code from}, {@code update} or {@code into}.
+     */
+    private static final Pattern MAIN_ENTITY = Pattern.compile("\\b(?:from|update|into)\\s+([\\w.$]+)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * The statement of a query, after the {@code [CRITERIA]} prefix of the criteria queries, recorded with their SQL.
+     */
+    private static final Pattern STATEMENT = Pattern.compile("^\\s*(?:\\[\\w+]\\s*)?([a-zA-Z]{1,10})\\b");
+
+    private final Logger log = LoggerFactory.getLogger(HibernateQueryMetrics.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> meteredQueries = ConcurrentHashMap.newKeySet();
+
+    private Statistics statistics;
+
+    public HibernateQueryMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Not in the constructor, so that the meter registry does not wait for the entity manager factory
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        registerNewQueries();
+    }
+
+    /**
+     * Register the meters of the queries executed since the last refresh.
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void registerNewQueries() {
+        if (statistics == null || !statistics.isStatisticsEnabled()) {
+            return;
+        }
+        for (String query : statistics.getQueries()) {
+            if (meteredQueries.contains(query)) {
+                continue;
+            }
+            if (meteredQueries.size() >= MAX_METERED_QUERIES) {
+                log.warn("More than {} queries, the new ones are not metered", MAX_METERED_QUERIES);
+                return;
+            }
+            meteredQueries.add(query);
+            register(query);
+        }
+    }
+
+    /**
+     * The name of a query in the metrics: its statement, its main entity and the hash of its text, such as
+     * {@code select Medicamento 1f2e3d4c}. Short and the same on every instance and every restart, without the
+     * parameters or literals of the query.
+     *
+     * @param query the text of the query, as in the Hibernate statistics.
+     * @return the name of the query.
+     */
+    public static String queryName(String query) {
+        Matcher statement = STATEMENT.matcher(query);
+        Matcher entity = MAIN_ENTITY.matcher(query);
+        String entityName = entity.find() ? entity.group(1).substring(entity.group(1).lastIndexOf('.') + 1) : "?";
+        return (
+            (statement.find() ? statement.group(1).toLowerCase(Locale.ROOT) : "?") +
+            " " +
+            entityName +
+            " " +
+            String.format("%08x", query.hashCode())
+        );
+    }
+
+    private void register(String query) {
+        String name = queryName(query);
+        // Looked up on each read: the statistics of a query are dropped and recreated when too many queries are tracked
+        FunctionTimer
+            .builder(
+                "hibernate.query.executions",
+                statistics,
+                stats -> stats.getQueryStatistics(query).getExecutionCount(),
+                stats -> stats.getQueryStatistics(query).getExecutionTotalTime(),
+                TimeUnit.MILLISECONDS
+            )
+            .tag("query", name)
+            .description("Executions of the query")
+            .register(meterRegistry);
+        TimeGauge
+            .builder(
+                "hibernate.query.execution.max",
+                statistics,
+                TimeUnit.MILLISECONDS,
+                stats -> stats.getQueryStatistics(query).getExecutionMaxTime()
+            )
+            .tag("query", name)
+            .description("Longest execution of the query")
+            .register(meterRegistry);
+        FunctionCounter
+            .builder("hibernate.query.rows", statistics, stats -> stats.getQueryStatistics(query).getExecutionRowCount())
+            .tag("query", name)
+            .description("Rows returned by the query")
+            .register(meterRegistry);
+    }
+}
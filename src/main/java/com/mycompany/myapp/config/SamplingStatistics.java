@@ -0,0 +1,90 @@
+package com.mycompany.myapp.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ThreadLocalRandom;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Hibernate statistics recording a sample of the query executions: under load, the per-query statistics of every
+ * execution contend on the same counters, while a sample gives the same averages and maximum times at a fraction of
+ * the cost. The execution and row counts of the queries are those of the sample.
+ * <p>
+ * A decorator of the {@link StatisticsImplementor} interface, which only filters
+ * {@link StatisticsImplementor#queryExecuted(String, int, long)} and hands every other call over to the statistics
+ * Hibernate builds by default: the other statistics, of the sessions, the entities and the second-level cache regions,
+ * are all recorded, and nothing depends on how the default statistics are implemented.
+ */
+public final class SamplingStatistics implements InvocationHandler {
+
+    /**
+     * The setting of the statistics factory, which Hibernate only declares in an internal class.
+     */
+    public static final String STATS_FACTORY = "hibernate.stats.factory";
+
+    private static final Method QUERY_EXECUTED;
+
+    static {
+        try {
+            QUERY_EXECUTED = StatisticsImplementor.class.getMethod("queryExecuted", String.class, int.class, long.class);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final StatisticsImplementor delegate;
+
+    private final double sampleRate;
+
+    private SamplingStatistics(StatisticsImplementor delegate, double sampleRate) {
+        this.delegate = delegate;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Decorate statistics to record a sample of the query executions.
+     *
+     * @param delegate the statistics recording the sample.
+     * @param sampleRate the fraction of the query executions recorded.
+     */
+    public static StatisticsImplementor sampling(StatisticsImplementor delegate, double sampleRate) {
+        return (StatisticsImplementor) Proxy.newProxyInstance(
+            SamplingStatistics.class.getClassLoader(),
+            new Class<?>[] { StatisticsImplementor.class },
+            new SamplingStatistics(delegate, sampleRate)
+        );
+    }
+
+    /**
+     * The factory of the statistics, for the {@value #STATS_FACTORY} setting: the default statistics of Hibernate,
+     * built the same way as without the setting, recording a sample of the query executions.
+     *
+     * @param sampleRate the fraction of the query executions recorded.
+     */
+    public static StatisticsFactory factory(double sampleRate) {
+        return sessionFactory -> sampling(new StatisticsImpl(sessionFactory), sampleRate);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.equals(QUERY_EXECUTED) && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "SamplingStatistics{sampleRate=" + sampleRate + ", " + delegate + "}";
+            };
+        }
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.service.MedicamentoSearchService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@code searchIndex} health of the readiness group: out of service, like a {@code REFUSING_TRAFFIC} readiness
+ * state, until the search index is loaded or its loading has failed.
+ */
+@Component
+public class SearchIndexHealthIndicator implements HealthIndicator {
+
+    private final MedicamentoSearchService medicamentoSearchService;
+
+    public SearchIndexHealthIndicator(MedicamentoSearchService medicamentoSearchService) {
+        this.medicamentoSearchService = medicamentoSearchService;
+    }
+
+    @Override
+    public Health health() {
+        MedicamentoSearchService.IndexState state = medicamentoSearchService.getIndexState();
+        return (state.isFinished() ? Health.up() : Health.outOfService()).withDetail("state", state)
+            .withDetail("indexed", medicamentoSearchService.getIndexedCount())
+            .build();
+    }
+}
@@ -3,16 +3,22 @@ package com.mycompany.myapp.config;
 import static org.springframework.security.config.Customizer.withDefaults;
 
 import com.mycompany.myapp.security.*;
+import com.mycompany.myapp.web.filter.LoginRateLimitingFilter;
 import com.mycompany.myapp.web.filter.SpaWebFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
@@ -27,6 +33,8 @@ import tech.jhipster.config.JHipsterProperties;
 @EnableMethodSecurity(securedEnabled = true)
 public class SecurityConfiguration {
 
+    private static final String BCRYPT_ENCODING_ID = "bcrypt";
+
     private final JHipsterProperties jHipsterProperties;
 
     public SecurityConfiguration(JHipsterProperties jHipsterProperties) {
@@ -34,15 +42,43 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(applicationProperties.getPasswordHashing().getBcryptStrength());
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(BCRYPT_ENCODING_ID, Map.of(BCRYPT_ENCODING_ID, bcrypt));
+        // The hashes stored without an encoding id are BCrypt hashes, they are upgraded on the next login
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new MeteredPasswordEncoder(passwordEncoder, meterRegistry);
+    }
+
+    /**
+     * Executor of the logins, so that the hashing of the passwords cannot take all the web server threads.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.PasswordHashing passwordHashing = applicationProperties.getPasswordHashing();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(passwordHashing.getThreads());
+        executor.setMaxPoolSize(passwordHashing.getThreads());
+        executor.setQueueCapacity(passwordHashing.getQueueCapacity());
+        executor.setThreadNamePrefix("password-hashing-");
+        Gauge
+            .builder(MeteredPasswordEncoder.HASHING_METER_NAME + ".queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+            .description("Indicates the number of logins waiting for a password hashing thread.")
+            .register(meterRegistry);
+        Gauge
+            .builder(MeteredPasswordEncoder.HASHING_METER_NAME + ".active", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .description("Indicates the number of password hashing threads verifying a login.")
+            .register(meterRegistry);
+        return executor;
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, MvcRequestMatcher.Builder mvc) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, MvcRequestMatcher.Builder mvc, LoginRateLimiter loginRateLimiter)
+        throws Exception {
         http
             .cors(withDefaults())
             .csrf(csrf -> csrf.disable())
+            .addFilterBefore(new LoginRateLimitingFilter(loginRateLimiter), BasicAuthenticationFilter.class)
             .addFilterAfter(new SpaWebFilter(), BasicAuthenticationFilter.class)
             .headers(headers ->
                 headers
@@ -66,6 +102,7 @@ public class SecurityConfiguration {
                     .requestMatchers(mvc.pattern("/swagger-ui/**")).permitAll()
                     .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/authenticate")).permitAll()
                     .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/authenticate")).permitAll()
+                    .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/authenticate/refresh")).permitAll()
                     .requestMatchers(mvc.pattern("/api/register")).permitAll()
                     .requestMatchers(mvc.pattern("/api/activate")).permitAll()
                     .requestMatchers(mvc.pattern("/api/account/reset-password/init")).permitAll()
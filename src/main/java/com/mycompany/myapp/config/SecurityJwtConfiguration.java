@@ -1,22 +1,32 @@
 package com.mycompany.myapp.config;
 
-import static com.mycompany.myapp.security.SecurityUtils.AUTHORITIES_KEY;
 import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.mycompany.myapp.management.SecurityMetersService;
-import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.mycompany.myapp.repository.JwtKeyRepository;
+import com.mycompany.myapp.security.jwt.CachingJwtDecoder;
+import com.mycompany.myapp.security.jwt.InvalidJwtException;
+import com.mycompany.myapp.security.jwt.JwtAuthoritiesConverter;
+import com.mycompany.myapp.security.jwt.JwtKeyRing;
+import com.mycompany.myapp.security.jwt.JwtRevocationValidator;
+import com.mycompany.myapp.security.jwt.JwtTimestampsValidator;
+import com.mycompany.myapp.security.jwt.JwtTokenUseValidator;
+import com.mycompany.myapp.security.jwt.TokenRevocationService;
+import com.mycompany.myapp.security.jwt.VerifyingJwtDecoder;
 import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 
 @Configuration
 public class SecurityJwtConfiguration {
@@ -24,40 +34,102 @@ public class SecurityJwtConfiguration {
     @Value("${jhipster.security.authentication.jwt.base64-secret}")
     private String jwtKey;
 
+    /**
+     * Keys signing and verifying the tokens, starting with the configured one.
+     */
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
-        NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
+    public JwtKeyRing jwtKeyRing(JwtKeyRepository jwtKeyRepository) {
+        return new JwtKeyRing(getSecretKey(), JWT_ALGORITHM, jwtKeyRepository);
+    }
+
+    /**
+     * Decoder of the bearer tokens: the access tokens, as long as they are not revoked nor signed with a retired key.
+     */
+    @Bean
+    @Primary
+    public CachingJwtDecoder jwtDecoder(
+        SecurityMetersService metersService,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties,
+        TokenRevocationService tokenRevocationService,
+        JwtKeyRing jwtKeyRing
+    ) {
+        ApplicationProperties.JwtCache cacheProperties = applicationProperties.getJwtCache();
+        CachingJwtDecoder jwtDecoder = new CachingJwtDecoder(
+            verifyingJwtDecoder(metersService, tokenRevocationService, jwtKeyRing),
+            cacheProperties.getMaxEntries(),
+            cacheProperties.getTimeToLive()
+        );
+        new CachingJwtDecoder.Metrics(jwtDecoder).bindTo(meterRegistry);
+        jwtKeyRing.setKeysRetiredListener(jwtDecoder::invalidateAll);
+        return jwtDecoder;
+    }
+
+    /**
+     * Decoder of the refresh tokens, as long as they are not revoked nor signed with a retired key.
+     */
+    @Bean
+    public JwtDecoder refreshTokenDecoder(TokenRevocationService tokenRevocationService, JwtKeyRing jwtKeyRing) {
+        return new VerifyingJwtDecoder(
+            jwtKeyRing::verifier,
+            JWT_ALGORITHM,
+            new DelegatingOAuth2TokenValidator<>(
+                new JwtTimestampsValidator(),
+                JwtTokenUseValidator.refreshTokens(),
+                new JwtRevocationValidator(tokenRevocationService)
+            )
+        );
+    }
+
+    private JwtDecoder verifyingJwtDecoder(
+        SecurityMetersService metersService,
+        TokenRevocationService tokenRevocationService,
+        JwtKeyRing jwtKeyRing
+    ) {
+        VerifyingJwtDecoder jwtDecoder = new VerifyingJwtDecoder(
+            jwtKeyRing::verifier,
+            JWT_ALGORITHM,
+            new DelegatingOAuth2TokenValidator<>(
+                new JwtTimestampsValidator(),
+                JwtTokenUseValidator.accessTokens(),
+                new JwtRevocationValidator(tokenRevocationService)
+            )
+        );
         return token -> {
+            long start = System.nanoTime();
             try {
-                return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
-                    metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (e.getMessage().contains("Invalid JWT serialization")) {
-                    metersService.trackTokenMalformed();
-                } else if (e.getMessage().contains("Invalid unsecured/JWS/JWE")) {
-                    metersService.trackTokenMalformed();
+                Jwt jwt = jwtDecoder.decode(token);
+                metersService.trackValidTokenDecode(System.nanoTime() - start);
+                return jwt;
+            } catch (InvalidJwtException e) {
+                metersService.trackInvalidTokenDecode(System.nanoTime() - start);
+                switch (e.getFailure()) {
+                    case INVALID_SIGNATURE -> metersService.trackTokenInvalidSignature();
+                    case EXPIRED -> metersService.trackTokenExpired();
+                    case UNSUPPORTED -> metersService.trackTokenUnsupported();
+                    case MALFORMED -> metersService.trackTokenMalformed();
+                    case REVOKED -> metersService.trackTokenRevoked();
+                    default -> {
+                        // Not counted by cause
+                    }
                 }
                 throw e;
             }
         };
     }
 
+    /**
+     * Encoder of the tokens, signing with the current key of the ring and setting its {@code kid} header.
+     */
     @Bean
-    public JwtEncoder jwtEncoder() {
-        return new NimbusJwtEncoder(new ImmutableSecret<>(getSecretKey()));
+    public JwtEncoder jwtEncoder(JwtKeyRing jwtKeyRing) {
+        return new NimbusJwtEncoder((jwkSelector, context) -> jwkSelector.select(jwtKeyRing.signingKeySet()));
     }
 
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
-        JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
-        grantedAuthoritiesConverter.setAuthorityPrefix("");
-        grantedAuthoritiesConverter.setAuthoritiesClaimName(AUTHORITIES_KEY);
-
         JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(grantedAuthoritiesConverter);
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(new JwtAuthoritiesConverter());
         return jwtAuthenticationConverter;
     }
 
@@ -0,0 +1,38 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.security.DomainUserCache;
+import com.mycompany.myapp.security.DomainUserDetailsService;
+import java.util.Objects;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Authentication of the users of the database, with a cache of their details.
+ */
+@Configuration
+public class UserDetailsConfiguration {
+
+    @Bean
+    public UserCache userCache(CacheManager cacheManager) {
+        return new DomainUserCache(Objects.requireNonNull(cacheManager.getCache(DomainUserCache.USER_DETAILS_CACHE)));
+    }
+
+    @Bean
+    public DaoAuthenticationProvider daoAuthenticationProvider(
+        DomainUserDetailsService userDetailsService,
+        PasswordEncoder passwordEncoder,
+        UserCache userCache
+    ) {
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setUserDetailsPasswordService(userDetailsService);
+        authenticationProvider.setUserCache(userCache);
+        // The authentication is given the login, not the cached user, whose password would be erased after the login
+        authenticationProvider.setForcePrincipalAsString(true);
+        return authenticationProvider;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mycompany.myapp.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Virtual threads, when the application runs on Java 21 or later.
+ * <p>
+ * The application is built for Java 17, so the {@code Thread.ofVirtual()} API is looked up reflectively, once.
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+
+    private VirtualThreads() {}
+
+    /**
+     * @return {@code true} if the running JVM supports virtual threads.
+     */
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * @throws IllegalStateException if the running JVM does not support virtual threads.
+     */
+    public static void checkAvailable() {
+        if (OF_VIRTUAL == null) {
+            throw new IllegalStateException(
+                "The '" + Constants.SPRING_PROFILE_VIRTUAL_THREADS + "' profile needs Java 21 or later, running on " + Runtime.version()
+            );
+        }
+    }
+
+    /**
+     * Create a factory of virtual threads.
+     *
+     * @param threadNamePrefix the prefix of the names of the threads, followed by a counter.
+     * @return the factory.
+     * @throws IllegalStateException if the running JVM does not support virtual threads.
+     */
+    public static ThreadFactory threadFactory(String threadNamePrefix) {
+        checkAvailable();
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create virtual threads", e instanceof InvocationTargetException ? e.getCause() : e);
+        }
+    }
+
+    /**
+     * Create an executor running each task on a new virtual thread, without limit.
+     *
+     * @param threadNamePrefix the prefix of the names of the threads.
+     * @return the executor.
+     * @throws IllegalStateException if the running JVM does not support virtual threads.
+     */
+    public static SimpleAsyncTaskExecutor taskExecutor(String threadNamePrefix) {
+        return new SimpleAsyncTaskExecutor(threadFactory(threadNamePrefix));
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.mycompany.myapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs the servlet requests on virtual threads, with the {@value Constants#SPRING_PROFILE_VIRTUAL_THREADS} profile: a
+ * request blocked on the database no longer holds one of the Undertow worker threads, so the number of concurrent
+ * requests is only bounded by the connection pool. The {@code taskExecutor} of {@link AsyncConfiguration} follows the
+ * same profile.
+ * <p>
+ * The Undertow I/O threads still parse the requests, then hand them over to a new virtual thread each.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_VIRTUAL_THREADS)
+public class VirtualThreadsConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    public VirtualThreadsConfiguration() {
+        // Fail on startup rather than on the first request
+        VirtualThreads.checkAvailable();
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory -> {
+            log.info("Running the web requests on virtual threads");
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(VirtualThreads.taskExecutor("undertow-")));
+        };
+    }
+}
@@ -1,6 +1,5 @@
 package com.mycompany.myapp.domain;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -27,7 +26,10 @@ public class Inventario implements Serializable {
     @Column(name = "cantidad_stock", nullable = false)
     private Integer cantidadStock;
 
-    @JsonIgnoreProperties(value = { "inventario" }, allowSetters = true)
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(unique = true)
     private Medicamento medicamento;
@@ -60,6 +62,14 @@ public class Inventario implements Serializable {
         this.cantidadStock = cantidadStock;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Medicamento getMedicamento() {
         return this.medicamento;
     }
@@ -0,0 +1,96 @@
+package com.mycompany.myapp.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A key signing the tokens, generated by a key rotation and identified by the {@code kid} header of the tokens.
+ */
+@Entity
+@Table(name = "jhi_jwt_key")
+public class JwtKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(max = 36)
+    @Id
+    @Column(length = 36)
+    private String kid;
+
+    /**
+     * The secret, encrypted with a key derived from the configured key.
+     */
+    @NotNull
+    @Size(max = 200)
+    @Column(name = "encrypted_secret", length = 200, nullable = false)
+    private String encryptedSecret;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    public JwtKey() {}
+
+    public JwtKey(String kid, String encryptedSecret, Instant createdDate) {
+        this.kid = kid;
+        this.encryptedSecret = encryptedSecret;
+        this.createdDate = createdDate;
+    }
+
+    public String getKid() {
+        return kid;
+    }
+
+    public void setKid(String kid) {
+        this.kid = kid;
+    }
+
+    public String getEncryptedSecret() {
+        return encryptedSecret;
+    }
+
+    public void setEncryptedSecret(String encryptedSecret) {
+        this.encryptedSecret = encryptedSecret;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JwtKey)) {
+            return false;
+        }
+        return Objects.equals(kid, ((JwtKey) o).kid);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(kid);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JwtKey{" +
+            "kid='" + kid + '\'' +
+            ", createdDate='" + createdDate + "'" +
+            "}";
+    }
+}
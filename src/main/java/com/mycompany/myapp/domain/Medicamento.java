@@ -1,6 +1,5 @@
 package com.mycompany.myapp.domain;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -9,6 +8,9 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Medicamento.
+ * <p>
+ * The relationship with {@link Inventario} is only mapped on the owning side: Hibernate cannot proxy the inverse
+ * side of a {@code @OneToOne}, so mapping it here would fire one extra select for each loaded medicamento.
  */
 @Entity
 @Table(name = "medicamento")
@@ -34,9 +36,9 @@ public class Medicamento implements Serializable {
     @Column(name = "precio", nullable = false)
     private Double precio;
 
-    @JsonIgnoreProperties(value = { "medicamento" }, allowSetters = true)
-    @OneToOne(fetch = FetchType.LAZY, mappedBy = "medicamento")
-    private Inventario inventario;
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
@@ -92,23 +94,12 @@ public class Medicamento implements Serializable {
         this.precio = precio;
     }
 
-    public Inventario getInventario() {
-        return this.inventario;
+    public Long getVersion() {
+        return this.version;
     }
 
-    public void setInventario(Inventario inventario) {
-        if (this.inventario != null) {
-            this.inventario.setMedicamento(null);
-        }
-        if (inventario != null) {
-            inventario.setMedicamento(this);
-        }
-        this.inventario = inventario;
-    }
-
-    public Medicamento inventario(Inventario inventario) {
-        this.setInventario(inventario);
-        return this;
+    public void setVersion(Long version) {
+        this.version = version;
     }
 
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
@@ -0,0 +1,182 @@
+package com.mycompany.myapp.domain;
+
+import com.mycompany.myapp.domain.enumeration.OutboundMailStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An email waiting in the outbox: it is stored in the same transaction as the change it reports, and deleted once sent.
+ */
+@Entity
+@Table(name = "jhi_outbound_mail")
+public class OutboundMail implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 254)
+    @Column(name = "recipient", length = 254, nullable = false)
+    private String recipient;
+
+    @Size(max = 255)
+    @Column(name = "subject", length = 255)
+    private String subject;
+
+    @Lob
+    @Column(name = "content")
+    private String content;
+
+    @NotNull
+    @Column(name = "multipart", nullable = false)
+    private boolean multipart;
+
+    @NotNull
+    @Column(name = "html", nullable = false)
+    private boolean html;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 10, nullable = false)
+    private OutboundMailStatus status = OutboundMailStatus.PENDING;
+
+    @NotNull
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @Size(max = 512)
+    @Column(name = "last_error", length = 512)
+    private String lastError;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public boolean isMultipart() {
+        return multipart;
+    }
+
+    public void setMultipart(boolean multipart) {
+        this.multipart = multipart;
+    }
+
+    public boolean isHtml() {
+        return html;
+    }
+
+    public void setHtml(boolean html) {
+        this.html = html;
+    }
+
+    public OutboundMailStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OutboundMailStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OutboundMail)) {
+            return false;
+        }
+        return id != null && id.equals(((OutboundMail) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OutboundMail{" +
+            "id=" + id +
+            ", recipient='" + recipient + "'" +
+            ", subject='" + subject + "'" +
+            ", status='" + status + "'" +
+            ", attempts=" + attempts +
+            ", nextAttemptAt='" + nextAttemptAt + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.myapp.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A token revoked before its expiration, identified by its {@code jti} claim.
+ * <p>
+ * A new revocation is always inserted, never merged: revoking a token twice violates the primary key, even from two
+ * instances at once.
+ */
+@Entity
+@Table(name = "jhi_revoked_token")
+public class RevokedToken implements Serializable, Persistable<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(max = 36)
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Transient
+    private boolean isPersisted;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String jti, Instant expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void updateEntityState() {
+        this.isPersisted = true;
+    }
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    @Override
+    @Transient
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RevokedToken)) {
+            return false;
+        }
+        return Objects.equals(jti, ((RevokedToken) o).jti);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(jti);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RevokedToken{" +
+            "jti='" + jti + '\'' +
+            ", expiresAt='" + expiresAt + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,16 @@
+package com.mycompany.myapp.domain.enumeration;
+
+/**
+ * The OutboundMailStatus enumeration.
+ */
+public enum OutboundMailStatus {
+    /**
+     * Waiting to be sent, or to be retried.
+     */
+    PENDING,
+
+    /**
+     * Given up after the last attempt, kept for inspection.
+     */
+    FAILED,
+}
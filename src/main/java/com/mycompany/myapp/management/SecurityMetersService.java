@@ -2,6 +2,8 @@ package com.mycompany.myapp.management;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +15,34 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String RATE_LIMITED_LOGINS_METER_NAME = "security.authentication.rate-limited-logins";
+    public static final String RATE_LIMITED_LOGINS_METER_DESCRIPTION = "Indicates the count of login attempts rejected by the rate limits.";
+    public static final String RATE_LIMITED_LOGINS_METER_LIMIT_DIMENSION = "limit";
+
+    public static final String TOKEN_DECODE_METER_NAME = "security.authentication.token-decode";
+    public static final String TOKEN_DECODE_METER_DESCRIPTION = "Indicates the time taken to decode and validate the tokens presented by the clients.";
+    public static final String TOKEN_DECODE_METER_OUTCOME_DIMENSION = "outcome";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenRevokedCounter;
+    private final Counter addressRateLimitedLoginCounter;
+    private final Counter loginRateLimitedLoginCounter;
+    private final Timer validTokenDecodeTimer;
+    private final Timer invalidTokenDecodeTimer;
 
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.tokenRevokedCounter = invalidTokensCounterForCauseBuilder("revoked").register(registry);
+        this.addressRateLimitedLoginCounter = rateLimitedLoginsCounterForLimitBuilder("address").register(registry);
+        this.loginRateLimitedLoginCounter = rateLimitedLoginsCounterForLimitBuilder("login").register(registry);
+        this.validTokenDecodeTimer = tokenDecodeTimerForOutcomeBuilder("valid").register(registry);
+        this.invalidTokenDecodeTimer = tokenDecodeTimerForOutcomeBuilder("invalid").register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -33,6 +53,20 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder rateLimitedLoginsCounterForLimitBuilder(String limit) {
+        return Counter
+            .builder(RATE_LIMITED_LOGINS_METER_NAME)
+            .description(RATE_LIMITED_LOGINS_METER_DESCRIPTION)
+            .tag(RATE_LIMITED_LOGINS_METER_LIMIT_DIMENSION, limit);
+    }
+
+    private Timer.Builder tokenDecodeTimerForOutcomeBuilder(String outcome) {
+        return Timer
+            .builder(TOKEN_DECODE_METER_NAME)
+            .description(TOKEN_DECODE_METER_DESCRIPTION)
+            .tag(TOKEN_DECODE_METER_OUTCOME_DIMENSION, outcome);
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -48,4 +82,24 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenRevoked() {
+        this.tokenRevokedCounter.increment();
+    }
+
+    public void trackLoginRateLimitedByAddress() {
+        this.addressRateLimitedLoginCounter.increment();
+    }
+
+    public void trackLoginRateLimitedByLogin() {
+        this.loginRateLimitedLoginCounter.increment();
+    }
+
+    public void trackValidTokenDecode(long durationNanos) {
+        this.validTokenDecodeTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackInvalidTokenDecode(long durationNanos) {
+        this.invalidTokenDecodeTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
 }
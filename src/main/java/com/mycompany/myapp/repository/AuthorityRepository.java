@@ -1,9 +1,20 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Authority;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 /**
  * Spring Data JPA repository for the {@link Authority} entity.
  */
-public interface AuthorityRepository extends JpaRepository<Authority, String> {}
+public interface AuthorityRepository extends JpaRepository<Authority, String> {
+    /**
+     * Keyset (seek) pagination: returns the authorities whose name is strictly greater than the given cursor.
+     *
+     * @param name the name of the last authority of the previous slice.
+     * @param pageable the pagination information, expected to be sorted by name.
+     * @return the next slice of authorities.
+     */
+    Slice<Authority> findByNameGreaterThan(String name, Pageable pageable);
+}
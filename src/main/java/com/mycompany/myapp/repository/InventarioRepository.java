@@ -1,7 +1,10 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Inventario;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,36 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface InventarioRepository extends JpaRepository<Inventario, Long> {}
+public interface InventarioRepository extends JpaRepository<Inventario, Long>, InventarioStockRepository {
+    @Query("select inventario from Inventario inventario where inventario.medicamento.id in :medicamentoIds")
+    List<Inventario> findAllByMedicamentoIdIn(@Param("medicamentoIds") Collection<Long> medicamentoIds);
+
+    /**
+     * All the inventarios for the listings, read as {@link InventarioSummary} rather than managed entities, with the id
+     * of their medicamento without loading it.
+     * <p>
+     * Not {@link QueryCacheable}: the stock movements, plain JDBC updates, do not invalidate the query cache.
+     *
+     * @return the inventario summaries.
+     */
+    @Query(
+        "select new com.mycompany.myapp.repository.InventarioRepository$InventarioSummary(" +
+        "inventario.id, inventario.cantidadStock, inventario.version, medicamento.id) " +
+        "from Inventario inventario left join inventario.medicamento medicamento"
+    )
+    List<InventarioSummary> findAllSummaries();
+
+    /**
+     * Read-only projection of an inventario, serialized like the entity, with its medicamento by reference.
+     */
+    record InventarioSummary(Long id, Integer cantidadStock, Long version, MedicamentoReference medicamento) {
+        public InventarioSummary(Long id, Integer cantidadStock, Long version, Long medicamentoId) {
+            this(id, cantidadStock, version, medicamentoId == null ? null : new MedicamentoReference(medicamentoId));
+        }
+    }
+
+    /**
+     * Reference to a medicamento, by id.
+     */
+    record MedicamentoReference(Long id) {}
+}
@@ -0,0 +1,28 @@
+package com.mycompany.myapp.repository;
+
+import java.util.Optional;
+
+/**
+ * Stock movements of the inventarios, each applied by a single conditional {@code UPDATE} of the row.
+ */
+public interface InventarioStockRepository {
+    /**
+     * Atomically removes a quantity from the stock of an inventario, only if enough stock is available, and increments
+     * its version.
+     *
+     * @param id the id of the inventario.
+     * @param cantidad the quantity to remove from the stock.
+     * @return the new stock, or empty if the inventario does not exist or has not enough stock.
+     */
+    Optional<Integer> decrementCantidadStock(Long id, int cantidad);
+
+    /**
+     * Atomically adds a quantity to the stock of an inventario, only if the stock stays below its maximum, and
+     * increments its version.
+     *
+     * @param id the id of the inventario.
+     * @param cantidad the quantity to add to the stock.
+     * @return the new stock, or empty if the inventario does not exist or the stock would exceed its maximum.
+     */
+    Optional<Integer> incrementCantidadStock(Long id, int cantidad);
+}
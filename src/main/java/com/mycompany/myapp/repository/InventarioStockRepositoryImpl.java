@@ -0,0 +1,78 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Inventario;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The stock movements are plain JDBC updates on the connection of the current transaction: a Hibernate bulk update
+ * would evict the whole {@link Inventario} region of the second-level cache, where only the moved inventario is
+ * evicted here, once more after the commit so that a concurrent read cannot cache the stock from before the movement.
+ * <p>
+ * No cached query reads the stock, so the update timestamps of the {@code inventario} table are left alone.
+ */
+class InventarioStockRepositoryImpl implements InventarioStockRepository {
+
+    private static final String SELECT_CANTIDAD_STOCK = "select cantidad_stock from inventario where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    InventarioStockRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Optional<Integer> decrementCantidadStock(Long id, int cantidad) {
+        return moved(
+            id,
+            jdbcTemplate.update(
+                "update inventario set cantidad_stock = cantidad_stock - ?, version = version + 1 where id = ? and cantidad_stock >= ?",
+                cantidad,
+                id,
+                cantidad
+            )
+        );
+    }
+
+    @Override
+    public Optional<Integer> incrementCantidadStock(Long id, int cantidad) {
+        return moved(
+            id,
+            jdbcTemplate.update(
+                "update inventario set cantidad_stock = cantidad_stock + ?, version = version + 1 where id = ? and cantidad_stock <= ?",
+                cantidad,
+                id,
+                Integer.MAX_VALUE - cantidad
+            )
+        );
+    }
+
+    private Optional<Integer> moved(Long id, int updatedRows) {
+        if (updatedRows == 0) {
+            return Optional.empty();
+        }
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        evict(id);
+                    }
+                }
+            );
+        }
+        // The row is locked by the update until the end of the transaction, so this read sees our own movement
+        return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_CANTIDAD_STOCK, Integer.class, id));
+    }
+
+    private void evict(Long id) {
+        entityManagerFactory.getCache().evict(Inventario.class, id);
+    }
+}
@@ -0,0 +1,12 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.JwtKey;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Spring Data JPA repository for the {@link JwtKey} entity.
+ */
+public interface JwtKeyRepository extends JpaRepository<JwtKey, String> {
+    List<JwtKey> findAllByOrderByCreatedDateAsc();
+}
@@ -1,7 +1,11 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Medicamento;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,116 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface MedicamentoRepository extends JpaRepository<Medicamento, Long> {}
+public interface MedicamentoRepository extends JpaRepository<Medicamento, Long> {
+    String WHERE_INVENTARIO_IS_NULL =
+        "where not exists (select inventario.id from Inventario inventario where inventario.medicamento = medicamento)";
+
+    String SELECT_SUMMARY =
+        "select new com.mycompany.myapp.repository.MedicamentoRepository$MedicamentoSummary(" +
+        "medicamento.id, medicamento.nombre, medicamento.descripcion, medicamento.precio, medicamento.version) " +
+        "from Medicamento medicamento ";
+
+    @Override
+    @QueryCacheable
+    long count();
+
+    /**
+     * Keyset (seek) pagination within a range of ids, for the range to be loaded in parallel with the others.
+     *
+     * @param id the id of the last medicamento of the previous slice.
+     * @param maxId the last id of the range.
+     * @param pageable the pagination information, expected to be sorted by id.
+     * @return the next slice of medicamentos in the range.
+     */
+    Slice<Medicamento> findByIdGreaterThanAndIdLessThanEqual(Long id, Long maxId, Pageable pageable);
+
+    @Query("select min(medicamento.id) from Medicamento medicamento")
+    Long findMinId();
+
+    @Query("select max(medicamento.id) from Medicamento medicamento")
+    Long findMaxId();
+
+    @Query("select count(medicamento) from Medicamento medicamento " + WHERE_INVENTARIO_IS_NULL)
+    @QueryCacheable
+    long countWhereInventarioIsNull();
+
+    /**
+     * Page of medicamentos for the listings, read as {@link MedicamentoSummary} rather than managed entities.
+     *
+     * @param pageable the pagination information.
+     * @return the page of medicamento summaries.
+     */
+    @Query(value = SELECT_SUMMARY, countQuery = "select count(medicamento) from Medicamento medicamento")
+    @QueryCacheable
+    Page<MedicamentoSummary> findAllSummaries(Pageable pageable);
+
+    /**
+     * Anti-join on the unique {@code inventario.medicamento_id} index: returns the medicamentos without inventario
+     * in a single query, read as {@link MedicamentoSummary}, without loading the inverse side of the relationship.
+     *
+     * @param pageable the pagination information.
+     * @return the page of summaries of the medicamentos without inventario.
+     */
+    @Query(
+        value = SELECT_SUMMARY + WHERE_INVENTARIO_IS_NULL,
+        countQuery = "select count(medicamento) from Medicamento medicamento " + WHERE_INVENTARIO_IS_NULL
+    )
+    @QueryCacheable
+    Page<MedicamentoSummary> findAllSummariesWhereInventarioIsNull(Pageable pageable);
+
+    /**
+     * Same as {@link #findAllSummariesWhereInventarioIsNull(Pageable)}, restricted to the names starting with the given
+     * prefix, taken literally, in the collation of the database, and without count query: a slice for the selector of
+     * the inventario form, queried as the user types.
+     *
+     * @param nombre the beginning of the name.
+     * @param pageable the pagination information.
+     * @return the slice of summaries of the matching medicamentos without inventario.
+     */
+    @Query(SELECT_SUMMARY + WHERE_INVENTARIO_IS_NULL + " and medicamento.nombre like ?#{escape([0])}% escape ?#{escapeCharacter()}")
+    Slice<MedicamentoSummary> findSummariesWhereInventarioIsNullByNombreStartingWith(String nombre, Pageable pageable);
+
+    /**
+     * Keyset (seek) pagination: returns the medicamentos whose id is strictly greater than the given cursor, read as
+     * {@link MedicamentoSummary}.
+     * <p>
+     * Unlike an offset page, the cost of this query does not grow with the depth of the page, and no count query is issued.
+     *
+     * @param id the id of the last medicamento of the previous slice.
+     * @param pageable the pagination information, expected to be sorted by id.
+     * @return the next slice of medicamento summaries.
+     */
+    @Query(SELECT_SUMMARY + "where medicamento.id > :id")
+    Slice<MedicamentoSummary> findSummariesByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Keyset (seek) pagination over the names of the medicamentos with their stock, without loading any entity.
+     *
+     * @param id the id of the last medicamento of the previous slice.
+     * @param pageable the pagination information, expected to be unsorted.
+     * @return the next slice of names with their stock, ordered by id; the stock is {@code null} without inventario.
+     */
+    @Query(
+        "select medicamento.id as id, medicamento.nombre as nombre, inventario.cantidadStock as cantidadStock " +
+        "from Medicamento medicamento left join Inventario inventario on inventario.medicamento = medicamento " +
+        "where medicamento.id > :id order by medicamento.id"
+    )
+    Slice<NombreWithStock> findNombreWithStockByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Read-only projection of a medicamento, serialized like the entity: unlike an entity, it is neither managed by the
+     * persistence context nor snapshot for dirty checking.
+     */
+    record MedicamentoSummary(Long id, String nombre, String descripcion, Double precio, Long version) {}
+
+    /**
+     * Projection of the name of a medicamento with its stock.
+     */
+    interface NombreWithStock {
+        Long getId();
+
+        String getNombre();
+
+        Integer getCantidadStock();
+    }
+}
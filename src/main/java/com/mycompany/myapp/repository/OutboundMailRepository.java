@@ -0,0 +1,39 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.OutboundMail;
+import com.mycompany.myapp.domain.enumeration.OutboundMailStatus;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA repository for the {@link OutboundMail} entity.
+ */
+public interface OutboundMailRepository extends JpaRepository<OutboundMail, Long> {
+    @Query("select m.id from OutboundMail m where m.status = :status and m.nextAttemptAt <= :now order by m.nextAttemptAt")
+    List<Long> findIdsDue(@Param("status") OutboundMailStatus status, @Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Lease a due email until a given time, so that no other instance sends it meanwhile.
+     *
+     * @return {@code 1} if the email is leased by this call, {@code 0} if it is not due anymore.
+     */
+    @Modifying
+    @Transactional
+    @Query(
+        "update OutboundMail m set m.nextAttemptAt = :leaseUntil where m.id = :id and m.status = :status and m.nextAttemptAt <= :now"
+    )
+    int lease(
+        @Param("id") Long id,
+        @Param("status") OutboundMailStatus status,
+        @Param("now") Instant now,
+        @Param("leaseUntil") Instant leaseUntil
+    );
+
+    long countByStatus(OutboundMailStatus status);
+}
@@ -0,0 +1,31 @@
+package com.mycompany.myapp.repository;
+
+import jakarta.persistence.QueryHint;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+
+/**
+ * Caches the results of a repository query in the Hibernate query cache, in the {@value #REGION} region, along with
+ * the results of its count query for a {@link org.springframework.data.domain.Page}.
+ * <p>
+ * The query cache is opt-in: only the queries with this annotation are cached. Their results are invalidated by the
+ * writes to the tables they read, through the {@code default-update-timestamps-region}, whether the writes are entity
+ * updates or bulk {@code update} queries. So a query is worth caching if its tables are read far more often than
+ * written.
+ * <p>
+ * The results of an entity query are the ids of the entities, which are then read from the region of the entity: the
+ * entity must be cached, and its region must keep the entries at least as long as the {@value #REGION} region, or
+ * every hit loads the entities one by one.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"), @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QueryCacheable.REGION) })
+public @interface QueryCacheable {
+    String REGION = "catalogQueries";
+}
@@ -0,0 +1,23 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.RevokedToken;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring Data JPA repository for the {@link RevokedToken} entity.
+ */
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    @Query("select revokedToken.jti from RevokedToken revokedToken")
+    List<String> findAllJtis();
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken revokedToken where revokedToken.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,42 @@
+package com.mycompany.myapp.security;
+
+import java.util.Locale;
+import org.springframework.cache.Cache;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * The {@link UserCache} of the {@link org.springframework.security.authentication.dao.DaoAuthenticationProvider},
+ * keeping the {@link UserDetails} of the users who logged in, by lower-cased login.
+ * <p>
+ * The users are put in the cache by login: a login with an email address always loads the user.
+ */
+public class DomainUserCache implements UserCache {
+
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
+    private final Cache cache;
+
+    public DomainUserCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return cache.get(key(username), UserDetails.class);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(key(user.getUsername()), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.evict(key(username));
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ENGLISH);
+    }
+}
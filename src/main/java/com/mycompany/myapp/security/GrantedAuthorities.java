@@ -0,0 +1,34 @@
+package com.mycompany.myapp.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Canonical {@link GrantedAuthority} instances, shared by all the users having the same authority.
+ * <p>
+ * The authorities come from the {@code jhi_authority} table, so there are only a handful of them.
+ */
+public final class GrantedAuthorities {
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    static {
+        of(AuthoritiesConstants.ADMIN);
+        of(AuthoritiesConstants.USER);
+        of(AuthoritiesConstants.ANONYMOUS);
+    }
+
+    private GrantedAuthorities() {}
+
+    /**
+     * Get the canonical instance of an authority.
+     *
+     * @param name the name of the authority.
+     * @return the authority.
+     */
+    public static GrantedAuthority of(String name) {
+        return AUTHORITIES.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+}
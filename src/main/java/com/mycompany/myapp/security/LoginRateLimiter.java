@@ -0,0 +1,92 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.management.SecurityMetersService;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the rate of the login attempts, by client address and by login, so that password hashing cannot be used to
+ * exhaust the CPU, nor to guess the password of a login from many addresses.
+ * <p>
+ * Both limits are token buckets, see {@link TokenBuckets}, and must be checked before the password is verified.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final Logger log = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+    private final SecurityMetersService securityMetersService;
+
+    private final TokenBuckets addressBuckets;
+
+    private final TokenBuckets loginBuckets;
+
+    public LoginRateLimiter(ApplicationProperties applicationProperties, SecurityMetersService securityMetersService) {
+        ApplicationProperties.LoginRateLimit properties = applicationProperties.getLoginRateLimit();
+        this.securityMetersService = securityMetersService;
+        this.addressBuckets =
+            new TokenBuckets(
+                properties.getAddressCapacity(),
+                properties.getAddressRefillPeriod(),
+                properties.getMaxEntries(),
+                System::nanoTime
+            );
+        this.loginBuckets =
+            new TokenBuckets(
+                properties.getLoginCapacity(),
+                properties.getLoginRefillPeriod(),
+                properties.getMaxEntries(),
+                System::nanoTime
+            );
+    }
+
+    /**
+     * Take a login attempt from the bucket of a client address.
+     *
+     * @param address the client address.
+     * @return {@code 0} if the attempt is allowed, else the seconds to wait before the next one.
+     */
+    public long tryAcquireForAddress(String address) {
+        long waitNanos = addressBuckets.tryConsume(address);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        log.debug("Too many login attempts from {}", address);
+        securityMetersService.trackLoginRateLimitedByAddress();
+        return toRetryAfterSeconds(waitNanos);
+    }
+
+    /**
+     * Take a login attempt from the bucket of a login.
+     *
+     * @param login the login, regardless of case.
+     * @return {@code 0} if the attempt is allowed, else the seconds to wait before the next one.
+     */
+    public long tryAcquireForLogin(String login) {
+        long waitNanos = loginBuckets.tryConsume(login.toLowerCase(Locale.ENGLISH));
+        if (waitNanos == 0) {
+            return 0;
+        }
+        log.debug("Too many login attempts on {}", login);
+        securityMetersService.trackLoginRateLimitedByLogin();
+        return toRetryAfterSeconds(waitNanos);
+    }
+
+    /**
+     * Forget the addresses and logins whose buckets are full again.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFullBuckets() {
+        addressBuckets.evictFullBuckets();
+        loginBuckets.evictFullBuckets();
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,49 @@
+package com.mycompany.myapp.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * A {@link PasswordEncoder} timing the hashing and the verification of the passwords by a delegate.
+ */
+public class MeteredPasswordEncoder implements PasswordEncoder {
+
+    public static final String HASHING_METER_NAME = "security.password.hashing";
+    public static final String HASHING_METER_DESCRIPTION = "Indicates the time taken to hash or to verify a password.";
+    public static final String HASHING_METER_OPERATION_DIMENSION = "operation";
+
+    private final PasswordEncoder delegate;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    public MeteredPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.encodeTimer = hashingTimerForOperationBuilder("encode").register(registry);
+        this.matchesTimer = hashingTimerForOperationBuilder("matches").register(registry);
+    }
+
+    private Timer.Builder hashingTimerForOperationBuilder(String operation) {
+        return Timer
+            .builder(HASHING_METER_NAME)
+            .description(HASHING_METER_DESCRIPTION)
+            .tag(HASHING_METER_OPERATION_DIMENSION, operation);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return Boolean.TRUE.equals(matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,99 @@
+package com.mycompany.myapp.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets by key, each holding up to {@code capacity} tokens refilled continuously over {@code refillPeriod}.
+ * <p>
+ * A bucket is a single {@link AtomicLong}, the time at which it would be full again (the "theoretical arrival time"
+ * of the generic cell rate algorithm), updated by compare-and-set: taking a token never locks, and the buckets live in
+ * a {@link ConcurrentHashMap}, whose bins are locked independently on insertion only. A full bucket is the same as no
+ * bucket, so {@link #evictFullBuckets()} can drop them at any time, which keeps the map to the recently active keys.
+ * Beyond {@code maxEntries} active keys, a new key takes the place of the bucket nearest to full, the one refilled the
+ * longest: the buckets drained by an ongoing attack are the last to go, and flooding the map with new keys never locks
+ * a client out.
+ */
+final class TokenBuckets {
+
+    private final long tokenIntervalNanos;
+
+    private final long burstNanos;
+
+    private final int maxEntries;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<String, AtomicLong> fullAt = new ConcurrentHashMap<>();
+
+    TokenBuckets(int capacity, Duration refillPeriod, int maxEntries, LongSupplier nanoClock) {
+        if (capacity <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("capacity and maxEntries must be positive");
+        }
+        this.tokenIntervalNanos = refillPeriod.toNanos() / capacity;
+        this.burstNanos = tokenIntervalNanos * capacity;
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take a token from the bucket of a key.
+     *
+     * @param key the key.
+     * @return {@code 0} if a token was taken, else the nanoseconds to wait for the next token.
+     */
+    long tryConsume(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = fullAt.get(key);
+        if (bucket == null) {
+            if (fullAt.size() >= maxEntries) {
+                evictFullBuckets();
+                if (fullAt.size() >= maxEntries) {
+                    evictNearestToFullBucket(now);
+                }
+            }
+            bucket = fullAt.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = bucket.get();
+            long start = current - now > 0 ? current : now;
+            long next = start + tokenIntervalNanos;
+            if (next - now > burstNanos) {
+                return next - now - burstNanos;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Drop the buckets that are full again. A token taken concurrently from a dropped bucket is given back.
+     */
+    void evictFullBuckets() {
+        long now = nanoClock.getAsLong();
+        fullAt.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    private void evictNearestToFullBucket(long now) {
+        String nearestKey = null;
+        long nearestFullIn = Long.MAX_VALUE;
+        for (Map.Entry<String, AtomicLong> entry : fullAt.entrySet()) {
+            long fullIn = entry.getValue().get() - now;
+            if (fullIn < nearestFullIn) {
+                nearestKey = entry.getKey();
+                nearestFullIn = fullIn;
+            }
+        }
+        if (nearestKey != null) {
+            fullAt.remove(nearestKey);
+        }
+    }
+
+    int size() {
+        return fullAt.size();
+    }
+}
@@ -0,0 +1,210 @@
+package com.mycompany.myapp.security.jwt;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * A {@link JwtDecoder} keeping the tokens successfully decoded by a delegate, so that a bearer token sent again is not
+ * verified and parsed again.
+ * <p>
+ * A token is kept until it expires, or for {@code timeToLive} at most, and is looked up by its SHA-256 hash so that no
+ * usable credential stays in memory. Rejected tokens are never kept: they go through the delegate every time. When the
+ * cache is full, expired tokens are purged first, then arbitrary ones, down to 90% of {@code maxEntries}.
+ * <p>
+ * {@link #invalidateAll()} must be called whenever the verification key changes, and {@link #invalidate(String)} whenever
+ * a token is revoked.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    /**
+     * Name of the cache in the {@code cache.*} metrics.
+     */
+    public static final String CACHE_NAME = "jwt";
+
+    private final JwtDecoder delegate;
+
+    private final int maxEntries;
+
+    private final Duration timeToLive;
+
+    private final Clock clock;
+
+    private final Map<String, CachedJwt> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder puts = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Duration timeToLive) {
+        this(delegate, maxEntries, timeToLive, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Duration timeToLive, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Instant now = clock.instant();
+        CachedJwt cached = cache.get(key);
+        if (cached != null) {
+            if (now.isBefore(cached.deadline())) {
+                hits.increment();
+                return cached.jwt();
+            }
+            if (cache.remove(key, cached)) {
+                expirations.increment();
+            }
+        }
+        misses.increment();
+
+        Jwt jwt = delegate.decode(token);
+        Instant deadline = now.plus(timeToLive);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(deadline)) {
+            deadline = jwt.getExpiresAt();
+        }
+        if (now.isBefore(deadline)) {
+            if (cache.size() >= maxEntries) {
+                makeRoom(now);
+            }
+            cache.put(key, new CachedJwt(jwt, deadline));
+            puts.increment();
+        }
+        return jwt;
+    }
+
+    /**
+     * Drop a cached token, for instance after its revocation.
+     *
+     * @param token the token.
+     */
+    public void invalidate(String token) {
+        cache.remove(hash(token));
+    }
+
+    /**
+     * Drop all the cached tokens, for instance after a rotation of the verification key.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private synchronized void makeRoom(Instant now) {
+        if (cache.size() < maxEntries) {
+            // Another thread made room in the meantime
+            return;
+        }
+        cache
+            .entrySet()
+            .removeIf(entry -> {
+                boolean expired = !now.isBefore(entry.getValue().deadline());
+                if (expired) {
+                    expirations.increment();
+                }
+                return expired;
+            });
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedJwt(Jwt jwt, Instant deadline) {}
+
+    /**
+     * Binds the {@code cache.*} metrics of a {@link CachingJwtDecoder}, with an additional {@code cache.expirations}
+     * counter.
+     */
+    public static class Metrics extends CacheMeterBinder<CachingJwtDecoder> {
+
+        public Metrics(CachingJwtDecoder decoder) {
+            super(decoder, CACHE_NAME, List.<Tag>of());
+        }
+
+        @Override
+        protected Long size() {
+            CachingJwtDecoder decoder = getCache();
+            return decoder == null ? null : (long) decoder.cache.size();
+        }
+
+        @Override
+        protected long hitCount() {
+            CachingJwtDecoder decoder = getCache();
+            return decoder == null ? 0L : decoder.hits.sum();
+        }
+
+        @Override
+        protected Long missCount() {
+            CachingJwtDecoder decoder = getCache();
+            return decoder == null ? null : decoder.misses.sum();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            CachingJwtDecoder decoder = getCache();
+            return decoder == null ? null : decoder.evictions.sum();
+        }
+
+        @Override
+        protected long putCount() {
+            CachingJwtDecoder decoder = getCache();
+            return decoder == null ? 0L : decoder.puts.sum();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            FunctionCounter
+                .builder("cache.expirations", getCache(), decoder -> decoder == null ? 0 : decoder.expirations.sum())
+                .tags(getTagsWithCacheName())
+                .description("The number of times the cache expired an entry")
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.mycompany.myapp.security.jwt;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+/**
+ * Thrown by {@link VerifyingJwtDecoder} when a bearer token is rejected, with the reason why.
+ */
+public class InvalidJwtException extends BadJwtException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JwtFailure failure;
+
+    public InvalidJwtException(JwtFailure failure, String message) {
+        super(message);
+        this.failure = failure;
+    }
+
+    public InvalidJwtException(JwtFailure failure, String message, Throwable cause) {
+        super(message, cause);
+        this.failure = failure;
+    }
+
+    public JwtFailure getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mycompany.myapp.security.jwt;
+
+import static com.mycompany.myapp.security.SecurityUtils.AUTHORITIES_KEY;
+
+import com.mycompany.myapp.security.GrantedAuthorities;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Converts the {@value com.mycompany.myapp.security.SecurityUtils#AUTHORITIES_KEY} claim of a token to the canonical
+ * {@link GrantedAuthorities}, like a {@code JwtGrantedAuthoritiesConverter} without prefix, but without splitting the
+ * claim nor allocating authorities on every request.
+ * <p>
+ * The users share a handful of authority combinations: the immutable list of authorities of each space-separated claim
+ * value is kept, up to {@link #MAX_CACHED_CLAIMS} distinct values, and reused by all the tokens having that value.
+ */
+public class JwtAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    /**
+     * Claim values beyond this number are converted on every request.
+     */
+    static final int MAX_CACHED_CLAIMS = 256;
+
+    private final Map<String, List<GrantedAuthority>> authoritiesByClaim = new ConcurrentHashMap<>();
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        Object claim = jwt.getClaims().get(AUTHORITIES_KEY);
+        if (claim instanceof String authorities) {
+            List<GrantedAuthority> cached = authoritiesByClaim.get(authorities);
+            if (cached != null) {
+                return cached;
+            }
+            List<GrantedAuthority> parsed = parse(authorities);
+            if (authoritiesByClaim.size() < MAX_CACHED_CLAIMS) {
+                authoritiesByClaim.putIfAbsent(authorities, parsed);
+            }
+            return parsed;
+        }
+        if (claim instanceof Collection<?> authorities) {
+            List<GrantedAuthority> converted = new ArrayList<>(authorities.size());
+            for (Object authority : authorities) {
+                converted.add(GrantedAuthorities.of(authority.toString()));
+            }
+            return converted;
+        }
+        return List.of();
+    }
+
+    int cachedClaimCount() {
+        return authoritiesByClaim.size();
+    }
+
+    private static List<GrantedAuthority> parse(String authorities) {
+        List<GrantedAuthority> parsed = new ArrayList<>();
+        int start = 0;
+        int length = authorities.length();
+        while (start < length) {
+            int end = authorities.indexOf(' ', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                parsed.add(GrantedAuthorities.of(authorities.substring(start, end)));
+            }
+            start = end + 1;
+        }
+        return List.copyOf(parsed);
+    }
+}
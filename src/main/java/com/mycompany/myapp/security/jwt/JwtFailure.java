@@ -0,0 +1,41 @@
+package com.mycompany.myapp.security.jwt;
+
+/**
+ * The reasons a bearer token is rejected.
+ */
+public enum JwtFailure {
+    /**
+     * The token is not a compact JWS, or its header or claims are not valid JSON.
+     */
+    MALFORMED,
+
+    /**
+     * The token is unsecured, encrypted, or signed with another algorithm.
+     */
+    UNSUPPORTED,
+
+    /**
+     * The signature does not match the verification key.
+     */
+    INVALID_SIGNATURE,
+
+    /**
+     * The token is past its {@code exp} claim.
+     */
+    EXPIRED,
+
+    /**
+     * The token is before its {@code nbf} claim.
+     */
+    NOT_YET_VALID,
+
+    /**
+     * The token was revoked before its expiration.
+     */
+    REVOKED,
+
+    /**
+     * A claim is rejected by a validator not reporting a more specific failure.
+     */
+    INVALID_CLAIMS,
+}
@@ -0,0 +1,23 @@
+package com.mycompany.myapp.security.jwt;
+
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+
+/**
+ * An {@code invalid_token} error reported by a validator, with the reason why.
+ */
+public class JwtFailureError extends OAuth2Error {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JwtFailure failure;
+
+    public JwtFailureError(JwtFailure failure, String description) {
+        super(OAuth2ErrorCodes.INVALID_TOKEN, description, null);
+        this.failure = failure;
+    }
+
+    public JwtFailure getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.nimbusds.jose.util.Base64;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts the secrets of the keys generated by the rotations, so that the database never holds them in clear.
+ * <p>
+ * The AES-256-GCM key is derived from the configured key, by an HMAC-SHA256 of a fixed label: whoever reads the
+ * {@code jhi_jwt_key} table without the application configuration cannot sign tokens. The {@code kid} is authenticated
+ * along with the secret, so that a secret copied to another row does not decrypt.
+ */
+final class JwtKeyCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private static final byte[] DERIVATION_LABEL = "jhi_jwt_key encryption".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int IV_BYTES = 12;
+
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey encryptionKey;
+
+    private final SecureRandom secureRandom;
+
+    JwtKeyCipher(SecretKey configuredKey, SecureRandom secureRandom) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(configuredKey.getEncoded(), "HmacSHA256"));
+            this.encryptionKey = new SecretKeySpec(mac.doFinal(DERIVATION_LABEL), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        this.secureRandom = secureRandom;
+    }
+
+    /**
+     * Encrypt the secret of a key.
+     *
+     * @param kid the {@code kid} of the key.
+     * @param secret the secret of the key.
+     * @return the random IV followed by the encrypted secret and its tag, in Base64.
+     */
+    String encrypt(String kid, byte[] secret) {
+        byte[] iv = new byte[IV_BYTES];
+        secureRandom.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] encrypted = cipher.doFinal(secret);
+            return Base64.encode(ByteBuffer.allocate(IV_BYTES + encrypted.length).put(iv).put(encrypted).array()).toString();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decrypt the secret of a key.
+     *
+     * @param kid the {@code kid} of the key.
+     * @param encryptedSecret the secret as returned by {@link #encrypt(String, byte[])}.
+     * @return the secret of the key.
+     * @throws GeneralSecurityException if the secret was not encrypted for this {@code kid} with the configured key.
+     */
+    byte[] decrypt(String kid, String encryptedSecret) throws GeneralSecurityException {
+        byte[] bytes = Base64.from(encryptedSecret).decode();
+        if (bytes.length <= IV_BYTES) {
+            throw new GeneralSecurityException("Encrypted secret too short");
+        }
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_BYTES));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES);
+    }
+}
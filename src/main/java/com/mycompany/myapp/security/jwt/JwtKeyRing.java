@@ -0,0 +1,271 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.domain.JwtKey;
+import com.mycompany.myapp.repository.JwtKeyRepository;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.util.Base64URL;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+
+/**
+ * The keys signing and verifying the tokens, identified by the {@code kid} header of the tokens.
+ * <p>
+ * The key configured by {@code jhipster.security.authentication.jwt.base64-secret} is always known, under a
+ * {@code kid} derived from its hash, and verifies the tokens without {@code kid} issued before the key ring. A rotation
+ * generates a new key, stored in the database: the newest key signs the new tokens, and all the keys verify the tokens
+ * until they are retired. The stored secrets are encrypted with a key derived from the configured key, see
+ * {@link JwtKeyCipher}. The other instances pick up the rotations and retirements at their next reload, periodic, or
+ * as soon as they receive a token signed with a {@code kid} they do not know yet.
+ * <p>
+ * The keys are held in an immutable snapshot, swapped atomically on reload: looking up the verifier of a token is a
+ * single hash map lookup, without lock, and the verifiers are built once per key.
+ */
+public class JwtKeyRing implements SmartInitializingSingleton {
+
+    private static final int KEY_BYTES = 64;
+
+    /**
+     * Minimum interval between two reloads caused by unknown {@code kid}s, so that forged tokens cannot flood the database.
+     */
+    private static final long MIN_RELOAD_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final JwtKeyRepository jwtKeyRepository;
+
+    private final MacAlgorithm algorithm;
+
+    private final KeyEntry configuredKey;
+
+    private final Clock clock;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final JwtKeyCipher cipher;
+
+    private final AtomicLong lastReloadNanos = new AtomicLong(System.nanoTime() - MIN_RELOAD_INTERVAL_NANOS);
+
+    private volatile Keys keys;
+
+    private volatile Runnable keysRetiredListener = () -> {};
+
+    public JwtKeyRing(SecretKey configuredKey, MacAlgorithm algorithm, JwtKeyRepository jwtKeyRepository) {
+        this(configuredKey, algorithm, jwtKeyRepository, Clock.systemUTC());
+    }
+
+    JwtKeyRing(SecretKey configuredKey, MacAlgorithm algorithm, JwtKeyRepository jwtKeyRepository, Clock clock) {
+        this.jwtKeyRepository = jwtKeyRepository;
+        this.algorithm = algorithm;
+        this.clock = clock;
+        this.configuredKey = new KeyEntry(configuredKid(configuredKey), configuredKey, null, algorithm);
+        this.cipher = new JwtKeyCipher(configuredKey, secureRandom);
+        this.keys = new Keys(this.configuredKey, List.of());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Before the web server starts, so that the tokens signed by other instances are verified
+        reload();
+    }
+
+    /**
+     * Reload the keys from the database.
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public synchronized void reload() {
+        List<KeyEntry> stored = new ArrayList<>();
+        for (JwtKey jwtKey : jwtKeyRepository.findAllByOrderByCreatedDateAsc()) {
+            byte[] keyBytes;
+            try {
+                keyBytes = cipher.decrypt(jwtKey.getKid(), jwtKey.getEncryptedSecret());
+            } catch (GeneralSecurityException e) {
+                log.error("Ignoring the token signing key {}, not encrypted with the configured key", jwtKey.getKid());
+                continue;
+            }
+            SecretKey secretKey = new SecretKeySpec(keyBytes, 0, keyBytes.length, algorithm.getName());
+            stored.add(new KeyEntry(jwtKey.getKid(), secretKey, jwtKey.getCreatedDate(), algorithm));
+        }
+        Keys previous = keys;
+        keys = new Keys(configuredKey, stored);
+        log.debug("Loaded {} token signing keys, signing with {}", keys.verifiers.size(), keys.signing.kid());
+        if (!keys.verifiers.keySet().containsAll(previous.verifiers.keySet())) {
+            keysRetiredListener.run();
+        }
+    }
+
+    /**
+     * Find the verifier of the tokens signed with a key.
+     *
+     * @param kid the {@code kid} header of the token, {@code null} for the configured key.
+     * @return the verifier, or {@code null} if the key is unknown or retired.
+     */
+    public JWSVerifier verifier(String kid) {
+        if (kid == null) {
+            return configuredKey.verifier();
+        }
+        JWSVerifier verifier = keys.verifiers.get(kid);
+        if (verifier == null && tryStartReload()) {
+            // Maybe a key just generated by another instance
+            reload();
+            verifier = keys.verifiers.get(kid);
+        }
+        return verifier;
+    }
+
+    /**
+     * The key signing the new tokens, as the only key of a set, with its {@code kid}.
+     */
+    public JWKSet signingKeySet() {
+        return keys.signing.jwkSet();
+    }
+
+    public String getSigningKid() {
+        return keys.signing.kid();
+    }
+
+    /**
+     * Generate a new key, signing the new tokens from now on.
+     *
+     * @return the new key.
+     */
+    public synchronized KeyDescriptor rotate() {
+        byte[] keyBytes = new byte[KEY_BYTES];
+        secureRandom.nextBytes(keyBytes);
+        String kid = UUID.randomUUID().toString();
+        JwtKey jwtKey = new JwtKey(kid, cipher.encrypt(kid, keyBytes), clock.instant());
+        jwtKeyRepository.saveAndFlush(jwtKey);
+        reload();
+        log.info("Rotated the token signing key to {}", jwtKey.getKid());
+        return new KeyDescriptor(jwtKey.getKid(), jwtKey.getCreatedDate(), true);
+    }
+
+    /**
+     * Retire a key: the tokens it signed are rejected from now on.
+     *
+     * @param kid the {@code kid} of the key.
+     * @return {@code true} if the key is retired by this call, {@code false} if it is unknown.
+     * @throws IllegalArgumentException if the key is the signing key or the configured key.
+     */
+    public synchronized boolean retire(String kid) {
+        // The signing key may have been rotated by another instance since the last reload
+        reload();
+        if (kid.equals(configuredKey.kid()) || kid.equals(keys.signing.kid())) {
+            throw new IllegalArgumentException("Cannot retire the key " + kid + ", which is the signing or the configured key");
+        }
+        if (!jwtKeyRepository.existsById(kid)) {
+            return false;
+        }
+        jwtKeyRepository.deleteById(kid);
+        jwtKeyRepository.flush();
+        reload();
+        log.info("Retired the token signing key {}", kid);
+        return true;
+    }
+
+    /**
+     * The known keys, oldest first, without their secrets.
+     */
+    public List<KeyDescriptor> describe() {
+        Keys current = keys;
+        return current.entries.stream().map(entry -> new KeyDescriptor(entry.kid(), entry.createdDate(), entry == current.signing)).toList();
+    }
+
+    /**
+     * Set the action to run when keys are retired, on this instance or on another one, to forget what they verified.
+     */
+    public void setKeysRetiredListener(Runnable keysRetiredListener) {
+        this.keysRetiredListener = keysRetiredListener;
+    }
+
+    private boolean tryStartReload() {
+        long last = lastReloadNanos.get();
+        long now = System.nanoTime();
+        return now - last >= MIN_RELOAD_INTERVAL_NANOS && lastReloadNanos.compareAndSet(last, now);
+    }
+
+    private static String configuredKid(SecretKey secretKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secretKey.getEncoded());
+            return Base64URL.encode(digest).toString().substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A key, as listed by the {@code jwtkeys} management endpoint.
+     *
+     * @param kid the {@code kid} of the key.
+     * @param createdDate the creation date of the key, {@code null} for the configured key.
+     * @param signing whether the key signs the new tokens.
+     */
+    public record KeyDescriptor(String kid, Instant createdDate, boolean signing) {}
+
+    private record KeyEntry(String kid, Instant createdDate, JWSVerifier verifier, JWKSet jwkSet) {
+        KeyEntry(String kid, SecretKey secretKey, Instant createdDate, MacAlgorithm algorithm) {
+            this(kid, createdDate, newVerifier(secretKey, algorithm), newJwkSet(kid, secretKey, algorithm));
+        }
+
+        private static JWSVerifier newVerifier(SecretKey secretKey, MacAlgorithm algorithm) {
+            try {
+                return new MACVerifier(secretKey);
+            } catch (JOSEException e) {
+                throw new IllegalArgumentException("Invalid secret key for " + algorithm.getName(), e);
+            }
+        }
+
+        private static JWKSet newJwkSet(String kid, SecretKey secretKey, MacAlgorithm algorithm) {
+            return new JWKSet(
+                new OctetSequenceKey.Builder(secretKey)
+                    .keyID(kid)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.parse(algorithm.getName()))
+                    .build()
+            );
+        }
+    }
+
+    private static final class Keys {
+
+        private final List<KeyEntry> entries;
+
+        private final KeyEntry signing;
+
+        private final Map<String, JWSVerifier> verifiers;
+
+        Keys(KeyEntry configuredKey, List<KeyEntry> stored) {
+            List<KeyEntry> all = new ArrayList<>(stored.size() + 1);
+            all.add(configuredKey);
+            all.addAll(stored);
+            Map<String, JWSVerifier> byKid = new HashMap<>();
+            all.forEach(entry -> byKid.put(entry.kid(), entry.verifier()));
+            this.entries = List.copyOf(all);
+            this.signing = all.get(all.size() - 1);
+            this.verifiers = Map.copyOf(byKid);
+        }
+    }
+}
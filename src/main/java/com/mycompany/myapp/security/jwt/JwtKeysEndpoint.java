@@ -0,0 +1,44 @@
+package com.mycompany.myapp.security.jwt;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint of the {@link JwtKeyRing}: lists the keys, rotates the signing key ({@code POST}) and retires a
+ * key ({@code DELETE /management/jwtkeys/{kid}}), without restarting the application.
+ */
+@Component
+@Endpoint(id = "jwtkeys")
+public class JwtKeysEndpoint {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    public JwtKeysEndpoint(JwtKeyRing jwtKeyRing) {
+        this.jwtKeyRing = jwtKeyRing;
+    }
+
+    @ReadOperation
+    public List<JwtKeyRing.KeyDescriptor> keys() {
+        return jwtKeyRing.describe();
+    }
+
+    @WriteOperation
+    public JwtKeyRing.KeyDescriptor rotate() {
+        return jwtKeyRing.rotate();
+    }
+
+    @DeleteOperation
+    public boolean retire(@Selector String kid) {
+        try {
+            return jwtKeyRing.retire(kid);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), "Key in use");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.mycompany.myapp.security.jwt;
+
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Rejects the tokens whose {@code jti} claim was revoked, as {@link JwtFailure#REVOKED}.
+ */
+public class JwtRevocationValidator implements OAuth2TokenValidator<Jwt> {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtRevocationValidator(TokenRevocationService tokenRevocationService) {
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        if (tokenRevocationService.isRevoked(jwt.getId())) {
+            return OAuth2TokenValidatorResult.failure(new JwtFailureError(JwtFailure.REVOKED, "Jwt " + jwt.getId() + " was revoked"));
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
@@ -0,0 +1,44 @@
+package com.mycompany.myapp.security.jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Validates the {@code exp} and {@code nbf} claims of a token, like
+ * {@link org.springframework.security.oauth2.jwt.JwtTimestampValidator}, but reporting {@link JwtFailureError}s.
+ */
+public class JwtTimestampsValidator implements OAuth2TokenValidator<Jwt> {
+
+    private static final Duration DEFAULT_CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private final Duration clockSkew;
+
+    private final Clock clock;
+
+    public JwtTimestampsValidator() {
+        this(DEFAULT_CLOCK_SKEW, Clock.systemUTC());
+    }
+
+    public JwtTimestampsValidator(Duration clockSkew, Clock clock) {
+        this.clockSkew = clockSkew;
+        this.clock = clock;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        Instant now = clock.instant();
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && now.minus(clockSkew).isAfter(expiresAt)) {
+            return OAuth2TokenValidatorResult.failure(new JwtFailureError(JwtFailure.EXPIRED, "Jwt expired at " + expiresAt));
+        }
+        Instant notBefore = jwt.getNotBefore();
+        if (notBefore != null && now.plus(clockSkew).isBefore(notBefore)) {
+            return OAuth2TokenValidatorResult.failure(new JwtFailureError(JwtFailure.NOT_YET_VALID, "Jwt used before " + notBefore));
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
@@ -0,0 +1,37 @@
+package com.mycompany.myapp.security.jwt;
+
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Keeps the access and refresh tokens apart, by their {@value TokenProvider#TOKEN_USE_KEY} claim: a refresh token is
+ * rejected as a bearer token, and an access token is rejected as a refresh token, both as {@link JwtFailure#UNSUPPORTED}.
+ */
+public class JwtTokenUseValidator implements OAuth2TokenValidator<Jwt> {
+
+    private final boolean refreshToken;
+
+    private JwtTokenUseValidator(boolean refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public static JwtTokenUseValidator accessTokens() {
+        return new JwtTokenUseValidator(false);
+    }
+
+    public static JwtTokenUseValidator refreshTokens() {
+        return new JwtTokenUseValidator(true);
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        boolean isRefreshToken = TokenProvider.REFRESH_TOKEN_USE.equals(jwt.getClaimAsString(TokenProvider.TOKEN_USE_KEY));
+        if (isRefreshToken != refreshToken) {
+            return OAuth2TokenValidatorResult.failure(
+                new JwtFailureError(JwtFailure.UNSUPPORTED, refreshToken ? "Jwt is not a refresh token" : "Jwt is a refresh token")
+            );
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
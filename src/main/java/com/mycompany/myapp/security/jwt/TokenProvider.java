@@ -0,0 +1,102 @@
+package com.mycompany.myapp.security.jwt;
+
+import static com.mycompany.myapp.security.SecurityUtils.AUTHORITIES_KEY;
+import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues the access and refresh tokens of the authenticated users.
+ * <p>
+ * Access tokens are short-lived, for {@code application.access-token.validity}, and carry the authorities. Refresh
+ * tokens are valid for {@code jhipster.security.authentication.jwt.token-validity-in-seconds(-for-remember-me)},
+ * only carry the login, and are marked by a {@value #TOKEN_USE_KEY} claim so that they are never accepted as bearer
+ * tokens. Both have a random {@code jti} claim, so that they can be revoked.
+ */
+@Component
+public class TokenProvider {
+
+    /**
+     * Claim telling a refresh token, set to {@value #REFRESH_TOKEN_USE}, from an access token, which has none.
+     */
+    public static final String TOKEN_USE_KEY = "token_use";
+
+    public static final String REFRESH_TOKEN_USE = "refresh";
+
+    /**
+     * Claim of the refresh tokens telling whether the user asked to be remembered, kept on each refresh.
+     */
+    public static final String REMEMBER_ME_KEY = "remember_me";
+
+    private final JwtEncoder jwtEncoder;
+
+    private final Duration accessTokenValidity;
+
+    private final Duration refreshTokenValidity;
+
+    private final Duration refreshTokenValidityForRememberMe;
+
+    public TokenProvider(
+        JwtEncoder jwtEncoder,
+        ApplicationProperties applicationProperties,
+        @Value("${jhipster.security.authentication.jwt.token-validity-in-seconds:0}") long tokenValidityInSeconds,
+        @Value("${jhipster.security.authentication.jwt.token-validity-in-seconds-for-remember-me:0}") long tokenValidityInSecondsForRememberMe
+    ) {
+        this.jwtEncoder = jwtEncoder;
+        this.accessTokenValidity = applicationProperties.getAccessToken().getValidity();
+        this.refreshTokenValidity = Duration.ofSeconds(tokenValidityInSeconds);
+        this.refreshTokenValidityForRememberMe = Duration.ofSeconds(tokenValidityInSecondsForRememberMe);
+    }
+
+    public String createAccessToken(Authentication authentication) {
+        String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(" "));
+
+        Instant now = Instant.now();
+
+        // @formatter:off
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .id(UUID.randomUUID().toString())
+            .issuedAt(now)
+            .expiresAt(now.plus(accessTokenValidity))
+            .subject(authentication.getName())
+            .claim(AUTHORITIES_KEY, authorities)
+            .build();
+        // @formatter:on
+
+        return encode(claims);
+    }
+
+    public String createRefreshToken(String login, boolean rememberMe) {
+        Instant now = Instant.now();
+
+        // @formatter:off
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .id(UUID.randomUUID().toString())
+            .issuedAt(now)
+            .expiresAt(now.plus(rememberMe ? refreshTokenValidityForRememberMe : refreshTokenValidity))
+            .subject(login)
+            .claim(TOKEN_USE_KEY, REFRESH_TOKEN_USE)
+            .claim(REMEMBER_ME_KEY, rememberMe)
+            .build();
+        // @formatter:on
+
+        return encode(claims);
+    }
+
+    private String encode(JwtClaimsSet claims) {
+        JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,152 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.RevokedToken;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps track of the tokens revoked before their expiration, by their {@code jti} claim.
+ * <p>
+ * The revoked tokens are stored in the database, so that they stay revoked after a restart, and in an in-memory
+ * {@link BloomFilter} checked on every decoded token: the database is only looked up for the few tokens the filter
+ * suspects of being revoked, which are all the revoked ones plus a small rate of false positives.
+ * <p>
+ * The filter is rebuilt from the database before the application serves requests, then periodically once the expired
+ * revocations are purged, and swapped atomically. The tokens revoked by this instance since the start of the previous
+ * rebuild are put in the new filter as well, so that a revocation racing a rebuild, or committed after it read the
+ * database, is not lost with the old filter.
+ * <p>
+ * Another instance only sees the revocations at its next rebuild, every {@code application.token-revocation.rebuild-interval}:
+ * until then it accepts a revoked access token, which is why that interval must stay well below the validity of the
+ * access tokens. A refresh token is always checked against the database when it is used, by
+ * {@link #revoke(String, Instant)}.
+ */
+@Component
+public class TokenRevocationService implements SmartInitializingSingleton {
+
+    private final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final ApplicationProperties.TokenRevocation properties;
+
+    private final Clock clock;
+
+    private volatile BloomFilter revokedJtis;
+
+    /**
+     * Guards the swap of the filter against the revocations, and the two sets below.
+     */
+    private final Object revocationLock = new Object();
+
+    /**
+     * The tokens revoked by this instance since the start of the last rebuild.
+     */
+    private Set<String> recentlyRevoked = new HashSet<>();
+
+    /**
+     * The tokens revoked by this instance between the starts of the two last rebuilds.
+     */
+    private Set<String> previouslyRevoked = new HashSet<>();
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, ApplicationProperties applicationProperties) {
+        this(revokedTokenRepository, applicationProperties, Clock.systemUTC());
+    }
+
+    TokenRevocationService(RevokedTokenRepository revokedTokenRepository, ApplicationProperties applicationProperties, Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.properties = applicationProperties.getTokenRevocation();
+        this.clock = clock;
+        this.revokedJtis = newFilter(0);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Before the web server starts, so that no revoked token is accepted meanwhile
+        rebuild();
+    }
+
+    /**
+     * Purge the expired revocations from the database, then rebuild the filter from the remaining ones.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.token-revocation.rebuild-interval:PT1M}",
+        initialDelayString = "${application.token-revocation.rebuild-interval:PT1M}"
+    )
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (revocationLock) {
+            previouslyRevoked = recentlyRevoked;
+            recentlyRevoked = new HashSet<>();
+        }
+        int purged = revokedTokenRepository.deleteExpired(clock.instant());
+        List<String> jtis = revokedTokenRepository.findAllJtis();
+        BloomFilter filter = newFilter(jtis.size());
+        jtis.forEach(filter::put);
+        synchronized (revocationLock) {
+            // Revoked meanwhile, or before but not yet committed when the database was read
+            previouslyRevoked.forEach(filter::put);
+            recentlyRevoked.forEach(filter::put);
+            revokedJtis = filter;
+        }
+        log.debug("Loaded {} revoked tokens, purged {} expired ones, in {} ms", jtis.size(), purged, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Check whether a token was revoked.
+     *
+     * @param jti the {@code jti} claim of the token, may be {@code null}.
+     * @return {@code true} if the token was revoked.
+     */
+    public boolean isRevoked(String jti) {
+        return jti != null && revokedJtis.mightContain(jti) && revokedTokenRepository.existsById(jti);
+    }
+
+    /**
+     * Revoke a token until its expiration.
+     *
+     * @param jti the {@code jti} claim of the token.
+     * @param expiresAt the expiration of the token, after which the revocation is purged.
+     * @return {@code true} if the token is revoked by this call, {@code false} if it already was, possibly by another
+     * instance at the same time.
+     */
+    public boolean revoke(String jti, Instant expiresAt) {
+        try {
+            // The primary key decides between concurrent revocations, whichever instance they come from
+            revokedTokenRepository.saveAndFlush(new RevokedToken(jti, expiresAt));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Token {} was already revoked", jti);
+            putRevoked(jti);
+            return false;
+        }
+        putRevoked(jti);
+        log.debug("Revoked token {} until {}", jti, expiresAt);
+        return true;
+    }
+
+    private void putRevoked(String jti) {
+        synchronized (revocationLock) {
+            revokedJtis.put(jti);
+            recentlyRevoked.add(jti);
+        }
+    }
+
+    private BloomFilter newFilter(int revokedCount) {
+        // Room for as many revocations as already loaded before the next rebuild
+        int expectedInsertions = Math.max(properties.getExpectedInsertions(), 2 * revokedCount);
+        return new BloomFilter(expectedInsertions, properties.getFalsePositiveProbability());
+    }
+}
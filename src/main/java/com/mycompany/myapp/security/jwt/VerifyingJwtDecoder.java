@@ -0,0 +1,140 @@
+package com.mycompany.myapp.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+import javax.crypto.SecretKey;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+
+/**
+ * A {@link JwtDecoder} for tokens signed with shared secrets, rejecting invalid tokens with an
+ * {@link InvalidJwtException} telling why.
+ * <p>
+ * A token goes through each step once, and the first one failing gives the {@link JwtFailure}: parsing
+ * ({@link JwtFailure#MALFORMED}), checking the algorithm ({@link JwtFailure#UNSUPPORTED}), verifying the signature
+ * with the verifier of the key named by the {@code kid} header ({@link JwtFailure#INVALID_SIGNATURE}, also for an
+ * unknown key), reading the claims ({@link JwtFailure#MALFORMED}), then validating them with
+ * an {@link OAuth2TokenValidator}, whose {@link JwtFailureError}s give the failure ({@link JwtFailure#INVALID_CLAIMS}
+ * for other errors).
+ */
+public class VerifyingJwtDecoder implements JwtDecoder {
+
+    private static final String DECODING_ERROR_MESSAGE_TEMPLATE = "An error occurred while attempting to decode the Jwt: %s";
+
+    private final JWSAlgorithm algorithm;
+
+    private final Function<String, JWSVerifier> verifiers;
+
+    private final OAuth2TokenValidator<Jwt> validator;
+
+    private final Converter<Map<String, Object>, Map<String, Object>> claimSetConverter = MappedJwtClaimSetConverter.withDefaults(
+        Collections.emptyMap()
+    );
+
+    public VerifyingJwtDecoder(SecretKey secretKey, MacAlgorithm algorithm, OAuth2TokenValidator<Jwt> validator) {
+        this(singleVerifier(secretKey, algorithm), algorithm, validator);
+    }
+
+    /**
+     * @param verifiers the verifier of the tokens by {@code kid} header, which may be {@code null}; returning
+     * {@code null} for an unknown key.
+     */
+    public VerifyingJwtDecoder(Function<String, JWSVerifier> verifiers, MacAlgorithm algorithm, OAuth2TokenValidator<Jwt> validator) {
+        this.algorithm = JWSAlgorithm.parse(algorithm.getName());
+        this.verifiers = verifiers;
+        this.validator = validator;
+    }
+
+    private static Function<String, JWSVerifier> singleVerifier(SecretKey secretKey, MacAlgorithm algorithm) {
+        try {
+            JWSVerifier verifier = new MACVerifier(secretKey);
+            return kid -> verifier;
+        } catch (JOSEException e) {
+            throw new IllegalArgumentException("Invalid secret key for " + algorithm.getName(), e);
+        }
+    }
+
+    @Override
+    public Jwt decode(String token) throws InvalidJwtException {
+        SignedJWT signedJwt = parse(token);
+        verify(signedJwt);
+        Jwt jwt = createJwt(token, signedJwt);
+        OAuth2TokenValidatorResult result = validator.validate(jwt);
+        if (result.hasErrors()) {
+            throw validationFailure(result);
+        }
+        return jwt;
+    }
+
+    private SignedJWT parse(String token) {
+        JWT jwt;
+        try {
+            jwt = JWTParser.parse(token);
+        } catch (ParseException e) {
+            throw new InvalidJwtException(JwtFailure.MALFORMED, String.format(DECODING_ERROR_MESSAGE_TEMPLATE, e.getMessage()), e);
+        }
+        if (!(jwt instanceof SignedJWT signedJwt)) {
+            throw new InvalidJwtException(JwtFailure.UNSUPPORTED, String.format(DECODING_ERROR_MESSAGE_TEMPLATE, "Unsigned or encrypted JWT"));
+        }
+        if (!algorithm.equals(signedJwt.getHeader().getAlgorithm())) {
+            throw new InvalidJwtException(
+                JwtFailure.UNSUPPORTED,
+                String.format(DECODING_ERROR_MESSAGE_TEMPLATE, "Unsupported algorithm " + signedJwt.getHeader().getAlgorithm())
+            );
+        }
+        return signedJwt;
+    }
+
+    private void verify(SignedJWT signedJwt) {
+        JWSVerifier verifier = verifiers.apply(signedJwt.getHeader().getKeyID());
+        if (verifier == null) {
+            throw new InvalidJwtException(
+                JwtFailure.INVALID_SIGNATURE,
+                String.format(DECODING_ERROR_MESSAGE_TEMPLATE, "Unknown key " + signedJwt.getHeader().getKeyID())
+            );
+        }
+        boolean verified;
+        try {
+            verified = signedJwt.verify(verifier);
+        } catch (JOSEException e) {
+            throw new InvalidJwtException(JwtFailure.UNSUPPORTED, String.format(DECODING_ERROR_MESSAGE_TEMPLATE, e.getMessage()), e);
+        }
+        if (!verified) {
+            throw new InvalidJwtException(JwtFailure.INVALID_SIGNATURE, String.format(DECODING_ERROR_MESSAGE_TEMPLATE, "Invalid signature"));
+        }
+    }
+
+    private Jwt createJwt(String token, SignedJWT signedJwt) {
+        try {
+            Map<String, Object> headers = signedJwt.getHeader().toJSONObject();
+            Map<String, Object> claims = claimSetConverter.convert(signedJwt.getJWTClaimsSet().getClaims());
+            return Jwt.withTokenValue(token).headers(h -> h.putAll(headers)).claims(c -> c.putAll(claims)).build();
+        } catch (ParseException e) {
+            throw new InvalidJwtException(JwtFailure.MALFORMED, String.format(DECODING_ERROR_MESSAGE_TEMPLATE, "Malformed payload"), e);
+        } catch (IllegalArgumentException e) {
+            // Claims of unexpected types, or no claims at all
+            throw new InvalidJwtException(JwtFailure.MALFORMED, String.format(DECODING_ERROR_MESSAGE_TEMPLATE, e.getMessage()), e);
+        }
+    }
+
+    private static InvalidJwtException validationFailure(OAuth2TokenValidatorResult result) {
+        OAuth2Error error = result.getErrors().iterator().next();
+        JwtFailure failure = error instanceof JwtFailureError failureError ? failureError.getFailure() : JwtFailure.INVALID_CLAIMS;
+        return new InvalidJwtException(failure, String.format(DECODING_ERROR_MESSAGE_TEMPLATE, error.getDescription()));
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * JWT signing keys and decoding for the resource server.
+ */
+package com.mycompany.myapp.security.jwt;
@@ -0,0 +1,239 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.Medicamento;
+import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.repository.MedicamentoRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service loading the {@link Medicamento} catalog and the authorities in the second-level cache once the application
+ * is ready, so that the first requests after a deploy do not all hit the database.
+ * <p>
+ * The ids of the catalog are split in ranges, loaded in parallel by keyset pages, each page in its own read-only
+ * transaction so that the loaded entities do not pile up in a persistence context; the authorities are loaded by keyset
+ * pages alongside. The progress is logged at every tenth of the entities loaded. The warm-up is abandoned after
+ * {@code application.cache.warmup.timeout}: its {@link #getProgress() progress} keeps the readiness probe out of
+ * service until then.
+ */
+@Service
+public class CacheWarmupService {
+
+    /**
+     * Number of id ranges per thread, so that the threads stay busy when the ids are unevenly spread.
+     */
+    private static final int RANGES_PER_THREAD = 4;
+
+    /**
+     * State of the warm-up.
+     */
+    public enum State {
+        PENDING,
+        RUNNING,
+        DONE,
+        TIMED_OUT,
+        FAILED,
+        DISABLED;
+
+        public boolean isFinished() {
+            return this != PENDING && this != RUNNING;
+        }
+    }
+
+    /**
+     * Progress of the warm-up.
+     *
+     * @param state the state of the warm-up.
+     * @param loaded the number of medicamentos and authorities loaded so far.
+     * @param total the number of medicamentos and authorities to load, {@code 0} until the warm-up starts.
+     * @param elapsed the time spent warming up so far.
+     */
+    public record Progress(State state, long loaded, long total, Duration elapsed) {}
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmupService.class);
+
+    private final MedicamentoRepository medicamentoRepository;
+
+    private final AuthorityRepository authorityRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Cache.Warmup warmupProperties;
+
+    private final AtomicLong loaded = new AtomicLong();
+
+    private volatile State state;
+
+    private volatile long total;
+
+    private volatile long startNanos;
+
+    private volatile long endNanos;
+
+    public CacheWarmupService(
+        MedicamentoRepository medicamentoRepository,
+        AuthorityRepository authorityRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.medicamentoRepository = medicamentoRepository;
+        this.authorityRepository = authorityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.warmupProperties = applicationProperties.getCache().getWarmup();
+        this.state = warmupProperties.isEnabled() ? State.PENDING : State.DISABLED;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (warmupProperties.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Start the warm-up in the background.
+     *
+     * @return the warm-up, completed when it is finished, in any {@link State}.
+     */
+    public synchronized CompletableFuture<Void> warmUp() {
+        if (state == State.RUNNING) {
+            throw new IllegalStateException("The cache warm-up is already running");
+        }
+        loaded.set(0);
+        total = 0;
+        startNanos = System.nanoTime();
+        state = State.RUNNING;
+        log.info("Warming up the caches with {} threads", warmupProperties.getThreads());
+        ExecutorService executor = Executors.newFixedThreadPool(
+            warmupProperties.getThreads(),
+            new CustomizableThreadFactory("cache-warmup-")
+        );
+        return CompletableFuture
+            .supplyAsync(this::splitMedicamentoIds, executor)
+            .thenCompose(ranges -> {
+                List<CompletableFuture<Void>> tasks = new ArrayList<>();
+                tasks.add(CompletableFuture.runAsync(this::loadAuthorities, executor));
+                for (long[] range : ranges) {
+                    tasks.add(CompletableFuture.runAsync(() -> loadMedicamentos(range[0], range[1]), executor));
+                }
+                return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new));
+            })
+            .orTimeout(warmupProperties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .handle((result, error) -> {
+                executor.shutdownNow();
+                finish(error instanceof CompletionException ? error.getCause() : error);
+                return null;
+            });
+    }
+
+    public Progress getProgress() {
+        State current = state;
+        Duration elapsed = switch (current) {
+            case PENDING, DISABLED -> Duration.ZERO;
+            case RUNNING -> Duration.ofNanos(System.nanoTime() - startNanos);
+            default -> Duration.ofNanos(endNanos - startNanos);
+        };
+        return new Progress(current, loaded.get(), total, elapsed);
+    }
+
+    /**
+     * Split the ids of the catalog in ranges, as {@code [after, last]} pairs.
+     */
+    private List<long[]> splitMedicamentoIds() {
+        total = medicamentoRepository.count() + authorityRepository.count();
+        Long minId = medicamentoRepository.findMinId();
+        Long maxId = medicamentoRepository.findMaxId();
+        List<long[]> ranges = new ArrayList<>();
+        if (minId == null || maxId == null) {
+            return ranges;
+        }
+        long span = Math.max((maxId - minId + 1) / ((long) warmupProperties.getThreads() * RANGES_PER_THREAD), 1);
+        for (long after = minId - 1; after < maxId; after += span) {
+            ranges.add(new long[] { after, Math.min(after + span, maxId) });
+        }
+        return ranges;
+    }
+
+    private void loadMedicamentos(long afterId, long lastId) {
+        Pageable pageable = PageRequest.of(0, warmupProperties.getBatchSize(), Sort.by("id"));
+        long cursor = afterId;
+        Slice<Medicamento> slice;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            long after = cursor;
+            slice = transactionTemplate.execute(status -> medicamentoRepository.findByIdGreaterThanAndIdLessThanEqual(after, lastId, pageable));
+            if (slice.hasContent()) {
+                cursor = slice.getContent().get(slice.getNumberOfElements() - 1).getId();
+                addLoaded(slice.getNumberOfElements());
+            }
+        } while (slice.hasNext());
+    }
+
+    private void loadAuthorities() {
+        Pageable pageable = PageRequest.of(0, warmupProperties.getBatchSize(), Sort.by("name"));
+        String cursor = "";
+        Slice<Authority> slice;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            String after = cursor;
+            slice = transactionTemplate.execute(status -> authorityRepository.findByNameGreaterThan(after, pageable));
+            if (slice.hasContent()) {
+                cursor = slice.getContent().get(slice.getNumberOfElements() - 1).getName();
+                addLoaded(slice.getNumberOfElements());
+            }
+        } while (slice.hasNext());
+    }
+
+    private void addLoaded(int count) {
+        long before = loaded.getAndAdd(count);
+        long after = before + count;
+        long tenth = Math.max(total / 10, 1);
+        if (before / tenth != after / tenth) {
+            log.info("Cache warm-up: {}/{} entities loaded", after, total);
+        } else {
+            log.debug("Cache warm-up: {}/{} entities loaded", after, total);
+        }
+    }
+
+    private void finish(Throwable error) {
+        endNanos = System.nanoTime();
+        Duration elapsed = Duration.ofNanos(endNanos - startNanos);
+        if (error == null) {
+            state = State.DONE;
+            log.info("Warmed up the caches with {} entities in {} ms", loaded.get(), elapsed.toMillis());
+        } else if (error instanceof TimeoutException) {
+            state = State.TIMED_OUT;
+            log.warn("Cache warm-up timed out after {} ms, with {}/{} entities loaded", elapsed.toMillis(), loaded.get(), total);
+        } else {
+            state = State.FAILED;
+            log.warn("Cache warm-up failed after {} ms, with {}/{} entities loaded", elapsed.toMillis(), loaded.get(), total, error);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.OutboundMail;
+import com.mycompany.myapp.domain.enumeration.OutboundMailStatus;
+import com.mycompany.myapp.repository.OutboundMailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Sends the emails of the {@link OutboundMail} outbox, on its own thread.
+ * <p>
+ * An email is stored in the outbox, in the transaction of the caller if any, then its id is put in a bounded in-memory
+ * queue once that transaction commits. The dispatch thread takes the queued emails by batches of up to
+ * {@code application.mail-dispatch.batch-size}, sent over a single SMTP connection. A sent email is deleted, a failed
+ * one is retried with an exponential backoff, and marked as {@link OutboundMailStatus#FAILED} after the last attempt.
+ * <p>
+ * The callers never wait for the SMTP server: when the queue is full, the email stays in the outbox and the periodic
+ * poll queues it once there is room again, together with the emails due for a retry and those left by a stopped
+ * instance. An email is leased by the instance queuing it, so that the other instances do not send it too.
+ */
+@Service
+public class MailDispatcher implements SmartLifecycle {
+
+    /**
+     * Time an instance has to send an email it queued, before the other instances may send it.
+     */
+    static final Duration LEASE = Duration.ofMinutes(5);
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final OutboundMailRepository outboundMailRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.MailDispatch properties;
+
+    private final Clock clock;
+
+    private final BlockingQueue<Long> queue;
+
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    private final Timer batchTimer;
+
+    private final Timer deliveryTimer;
+
+    private final Counter sentCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter failedCounter;
+
+    private final Counter overflowCounter;
+
+    private volatile boolean running;
+
+    private Thread dispatchThread;
+
+    @Autowired
+    public MailDispatcher(
+        OutboundMailRepository outboundMailRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this(outboundMailRepository, javaMailSender, jHipsterProperties, applicationProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    MailDispatcher(
+        OutboundMailRepository outboundMailRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.outboundMailRepository = outboundMailRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.properties = applicationProperties.getMailDispatch();
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("mail.queue.size", queue, BlockingQueue::size).description("Emails waiting in memory to be sent").register(meterRegistry);
+        Gauge
+            .builder("mail.outbox.pending", pendingCount, AtomicLong::get)
+            .description("Emails waiting in the outbox, as of the last poll")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("mail.batch").description("Time to send a batch of emails over one connection").register(meterRegistry);
+        this.deliveryTimer =
+            Timer.builder("mail.delivery").description("Time from the request of an email to its sending").register(meterRegistry);
+        this.sentCounter = outcomeCounter(meterRegistry, "sent");
+        this.retriedCounter = outcomeCounter(meterRegistry, "retried");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.overflowCounter =
+            Counter.builder("mail.queue.overflows").description("Emails left to the next poll as the queue was full").register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("mail.messages").description("Attempts to send an email, by outcome").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    /**
+     * Store an email in the outbox, and queue it once the current transaction, if any, commits.
+     */
+    public void enqueue(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        Instant now = clock.instant();
+        // Back-pressure: when the queue is full, the email is due right away for the next poll, instead of leased
+        boolean queueing = queue.remainingCapacity() > 0;
+        OutboundMail mail = new OutboundMail();
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setContent(content);
+        mail.setMultipart(isMultipart);
+        mail.setHtml(isHtml);
+        mail.setCreatedDate(now);
+        mail.setNextAttemptAt(queueing ? now.plus(LEASE) : now);
+        Long id = outboundMailRepository.save(mail).getId();
+        if (!queueing) {
+            log.debug("Mail queue full, leaving the email to '{}' in the outbox", to);
+            overflowCounter.increment();
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        queue(id);
+                    }
+                }
+            );
+        } else {
+            queue(id);
+        }
+    }
+
+    private void queue(Long id) {
+        if (!offer(id)) {
+            // Filled up meanwhile: sent once its lease expires
+            overflowCounter.increment();
+        }
+    }
+
+    private boolean offer(Long id) {
+        if (!queued.add(id)) {
+            return true;
+        }
+        if (queue.offer(id)) {
+            return true;
+        }
+        queued.remove(id);
+        return false;
+    }
+
+    /**
+     * Queue the emails due in the outbox, as long as there is room: the retries, the emails left when the queue was
+     * full, and those leased by an instance which did not send them.
+     */
+    @Scheduled(fixedDelay = 10_000)
+    public void queueDueMails() {
+        Instant now = clock.instant();
+        int room = queue.remainingCapacity();
+        if (room > 0) {
+            for (Long id : outboundMailRepository.findIdsDue(OutboundMailStatus.PENDING, now, PageRequest.of(0, room))) {
+                // Leased for nothing if the queue just filled up, then sent once the lease expires
+                if (outboundMailRepository.lease(id, OutboundMailStatus.PENDING, now, now.plus(LEASE)) == 1 && !offer(id)) {
+                    break;
+                }
+            }
+        }
+        pendingCount.set(outboundMailRepository.countByStatus(OutboundMailStatus.PENDING));
+    }
+
+    /**
+     * Send the queued emails, on the calling thread.
+     */
+    void dispatchQueued() {
+        Long id;
+        while ((id = queue.poll()) != null) {
+            dispatch(id);
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                Long id = queue.poll(1, TimeUnit.SECONDS);
+                if (id != null) {
+                    dispatch(id);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // The emails of the batch stay leased in the outbox, and are sent again once the lease expires
+                log.error("Mail dispatch failed", e);
+            }
+        }
+    }
+
+    private void dispatch(Long firstId) {
+        List<Long> ids = new ArrayList<>();
+        ids.add(firstId);
+        queue.drainTo(ids, properties.getBatchSize() - 1);
+        queued.removeAll(ids);
+        List<OutboundMail> mails = outboundMailRepository.findAllById(ids);
+        if (!mails.isEmpty()) {
+            send(mails);
+        }
+    }
+
+    private void send(List<OutboundMail> mails) {
+        List<OutboundMail> toSend = new ArrayList<>(mails.size());
+        List<MimeMessage> messages = new ArrayList<>(mails.size());
+        List<OutboundMail> failed = new ArrayList<>();
+        for (OutboundMail mail : mails) {
+            try {
+                messages.add(toMimeMessage(mail));
+                toSend.add(mail);
+            } catch (MessagingException e) {
+                log.warn("Email could not be prepared for user '{}'", mail.getRecipient(), e);
+                failed.add(giveUp(mail, e));
+            }
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        Exception batchFailure = null;
+        long start = System.nanoTime();
+        try {
+            javaMailSender.send(messages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages() == null || e.getFailedMessages().isEmpty()) {
+                batchFailure = e;
+            } else {
+                failures = e.getFailedMessages();
+            }
+        } catch (MailException e) {
+            batchFailure = e;
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        Instant now = clock.instant();
+        List<Long> sentIds = new ArrayList<>();
+        for (int i = 0; i < toSend.size(); i++) {
+            OutboundMail mail = toSend.get(i);
+            Exception failure = batchFailure != null ? batchFailure : failures.get(messages.get(i));
+            if (failure == null) {
+                log.debug("Sent email to User '{}'", mail.getRecipient());
+                sentIds.add(mail.getId());
+                sentCounter.increment();
+                deliveryTimer.record(Duration.between(mail.getCreatedDate(), now));
+            } else {
+                failed.add(retryLater(mail, failure, now));
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            outboundMailRepository.deleteAllByIdInBatch(sentIds);
+        }
+        if (!failed.isEmpty()) {
+            outboundMailRepository.saveAll(failed);
+        }
+    }
+
+    private MimeMessage toMimeMessage(OutboundMail mail) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mail.isMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mail.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getContent(), mail.isHtml());
+        return mimeMessage;
+    }
+
+    private OutboundMail retryLater(OutboundMail mail, Exception failure, Instant now) {
+        int attempts = mail.getAttempts() + 1;
+        if (attempts >= properties.getMaxAttempts()) {
+            log.error("Email could not be sent to user '{}' after {} attempts, giving up", mail.getRecipient(), attempts, failure);
+            mail.setAttempts(attempts);
+            return giveUp(mail, failure);
+        }
+        Duration backoff = backoff(attempts);
+        log.warn("Email could not be sent to user '{}', retrying in {}: {}", mail.getRecipient(), backoff, failure.getMessage());
+        retriedCounter.increment();
+        mail.setAttempts(attempts);
+        mail.setNextAttemptAt(now.plus(backoff));
+        mail.setLastError(truncate(failure.getMessage()));
+        return mail;
+    }
+
+    private OutboundMail giveUp(OutboundMail mail, Exception failure) {
+        failedCounter.increment();
+        mail.setStatus(OutboundMailStatus.FAILED);
+        mail.setLastError(truncate(failure.getMessage()));
+        return mail;
+    }
+
+    /**
+     * Delay before the next attempt, after a number of failed ones.
+     */
+    Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        dispatchThread = new Thread(this::dispatchLoop, "mail-dispatcher");
+        dispatchThread.setDaemon(true);
+        dispatchThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        try {
+            // Lets the batch in progress finish, the queued emails are sent by the next start or another instance
+            dispatchThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
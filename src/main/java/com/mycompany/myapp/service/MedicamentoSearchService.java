@@ -0,0 +1,349 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Medicamento;
+import com.mycompany.myapp.repository.MedicamentoRepository;
+import com.mycompany.myapp.repository.MedicamentoRepository.MedicamentoSummary;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for the full-text search of {@link Medicamento}, backed by an in-memory inverted index over
+ * {@code nombre} and {@code descripcion}.
+ * <p>
+ * Text is split on anything but letters and digits, lower-cased and folded to ASCII ("Ácido" is indexed as "acido"),
+ * and every term of a query matches as a prefix of an indexed term. The index is kept up to date from Hibernate
+ * post-commit events, so rolled back changes never reach it, and loaded in the background once the application is
+ * ready: its {@link #getIndexState() state} keeps the readiness probe out of service until then.
+ */
+@Service
+public class MedicamentoSearchService {
+
+    private static final Pattern DIACRITICAL_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    /**
+     * State of the index.
+     */
+    public enum IndexState {
+        PENDING,
+        REBUILDING,
+        READY,
+        FAILED;
+
+        public boolean isFinished() {
+            return this == READY || this == FAILED;
+        }
+    }
+
+    private final Logger log = LoggerFactory.getLogger(MedicamentoSearchService.class);
+
+    private final MedicamentoRepository medicamentoRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Sorted term dictionary, so that a prefix is a range of terms.
+     */
+    private final NavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+    /**
+     * Forward index, to remove the previous terms of an updated or deleted medicamento.
+     */
+    private final Map<Long, Set<String>> termsById = new ConcurrentHashMap<>();
+
+    /**
+     * Medicamentos removed while the index is rebuilt, so that a page read before their removal does not add them back.
+     */
+    private final Set<Long> removedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private final Object rebuildLock = new Object();
+
+    private volatile IndexState indexState = IndexState.PENDING;
+
+    public MedicamentoSearchService(MedicamentoRepository medicamentoRepository, EntityManagerFactory entityManagerFactory) {
+        this.medicamentoRepository = medicamentoRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void registerIndexingListener() {
+        IndexingListener listener = new IndexingListener();
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildIndexAsync();
+    }
+
+    /**
+     * Start rebuilding the index in the background.
+     *
+     * @return the rebuild, completed when it is finished, in any {@link IndexState}.
+     */
+    public CompletableFuture<Void> rebuildIndexAsync() {
+        ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("search-index-"));
+        return CompletableFuture.runAsync(this::rebuildIndex, executor).whenComplete((result, error) -> executor.shutdown());
+    }
+
+    /**
+     * Load all the medicamentos in the index, by keyset pages of summaries rather than managed entities.
+     * <p>
+     * The changes committed meanwhile are indexed from their events: the rebuild leaves alone the medicamentos they
+     * indexed or removed, whose pages may be older.
+     */
+    public void rebuildIndex() {
+        synchronized (rebuildLock) {
+            doRebuildIndex();
+        }
+    }
+
+    private void doRebuildIndex() {
+        long start = System.currentTimeMillis();
+        removedDuringRebuild.clear();
+        indexState = IndexState.REBUILDING;
+        try {
+            Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by(Sort.Direction.ASC, "id"));
+            long lastId = 0L;
+            Slice<MedicamentoSummary> slice;
+            do {
+                slice = medicamentoRepository.findSummariesByIdGreaterThan(lastId, pageable);
+                slice.forEach(this::indexIfAbsent);
+                if (slice.hasContent()) {
+                    lastId = slice.getContent().get(slice.getNumberOfElements() - 1).id();
+                }
+            } while (slice.hasNext());
+            indexState = IndexState.READY;
+            log.info("Indexed {} medicamentos in {} ms", termsById.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            indexState = IndexState.FAILED;
+            log.error("Failed to index the medicamentos after {} ms", System.currentTimeMillis() - start, e);
+        } finally {
+            removedDuringRebuild.clear();
+        }
+    }
+
+    public IndexState getIndexState() {
+        return indexState;
+    }
+
+    public int getIndexedCount() {
+        return termsById.size();
+    }
+
+    /**
+     * Search for the medicamentos matching all the terms of the query.
+     * <p>
+     * The results are ordered by id: the sort of the pageable, if any, is ignored.
+     *
+     * @param query the query.
+     * @param pageable the pagination information.
+     * @return the page of matching medicamentos.
+     */
+    public Page<Medicamento> search(String query, Pageable pageable) {
+        log.debug("Request to search for a page of Medicamentos for query {}", query);
+        List<Long> ids = searchIds(query);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<Long> pageIds = ids.subList(from, to);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.size());
+        }
+
+        // The index may briefly lag behind a concurrent delete: missing medicamentos are left out of the page.
+        Map<Long, Medicamento> medicamentos = medicamentoRepository
+            .findAllById(pageIds)
+            .stream()
+            .collect(Collectors.toMap(Medicamento::getId, Function.identity()));
+        List<Medicamento> content = pageIds.stream().map(medicamentos::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    List<Long> searchIds(String query) {
+        List<String> prefixes = new ArrayList<>(tokenize(query));
+        if (prefixes.isEmpty()) {
+            return List.of();
+        }
+
+        // Expand the most selective prefix only, then check the other ones against the terms of each candidate.
+        prefixes.sort(Comparator.comparingInt(this::estimateMatches));
+        List<String> otherPrefixes = prefixes.subList(1, prefixes.size());
+        Set<Long> candidates = new HashSet<>();
+        prefixRange(prefixes.get(0)).values().forEach(candidates::addAll);
+        return candidates
+            .stream()
+            .filter(id -> otherPrefixes.stream().allMatch(prefix -> hasTermStartingWith(id, prefix)))
+            .sorted()
+            .toList();
+    }
+
+    void index(Medicamento medicamento) {
+        index(medicamento.getId(), medicamento.getNombre(), medicamento.getDescripcion());
+    }
+
+    private void index(Long id, String nombre, String descripcion) {
+        Set<String> terms = new HashSet<>(tokenize(nombre));
+        terms.addAll(tokenize(descripcion));
+        updateTerms(id, terms);
+    }
+
+    void remove(Long id) {
+        if (indexState == IndexState.REBUILDING) {
+            removedDuringRebuild.add(id);
+        }
+        updateTerms(id, Set.of());
+    }
+
+    private synchronized void indexIfAbsent(MedicamentoSummary medicamento) {
+        if (!termsById.containsKey(medicamento.id()) && !removedDuringRebuild.contains(medicamento.id())) {
+            index(medicamento.id(), medicamento.nombre(), medicamento.descripcion());
+        }
+    }
+
+    private synchronized void updateTerms(Long id, Set<String> terms) {
+        Set<String> previousTerms = terms.isEmpty() ? termsById.remove(id) : termsById.put(id, Set.copyOf(terms));
+        if (previousTerms != null) {
+            previousTerms
+                .stream()
+                .filter(term -> !terms.contains(term))
+                .forEach(term ->
+                    postings.computeIfPresent(
+                        term,
+                        (key, ids) -> {
+                            ids.remove(id);
+                            return ids.isEmpty() ? null : ids;
+                        }
+                    )
+                );
+        }
+        terms.forEach(term -> postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(id));
+    }
+
+    private NavigableMap<String, Set<Long>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private int estimateMatches(String prefix) {
+        return prefixRange(prefix).values().stream().mapToInt(Set::size).sum();
+    }
+
+    private boolean hasTermStartingWith(Long id, String prefix) {
+        Set<String> terms = termsById.get(id);
+        return terms != null && terms.stream().anyMatch(term -> term.startsWith(prefix));
+    }
+
+    static Collection<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATORS.split(fold(text))).filter(term -> !term.isEmpty()).distinct().toList();
+    }
+
+    /**
+     * Fold a text to lower case and strip its accents, so that "Ácido" and "acido" compare equal.
+     *
+     * @param text the text to fold.
+     * @return the folded text.
+     */
+    static String fold(String text) {
+        return DIACRITICAL_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Applies the committed changes of the medicamentos to the index.
+     */
+    private class IndexingListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Medicamento medicamento) {
+                index(medicamento);
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Medicamento medicamento) {
+                index(medicamento);
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Medicamento) {
+                remove((Long) event.getId());
+            }
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+            // Nothing was indexed before the commit
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+            // Nothing was indexed before the commit
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+            // Nothing was removed before the commit
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return Medicamento.class.equals(persister.getMappedClass());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.repository.MedicamentoRepository;
+import com.mycompany.myapp.repository.MedicamentoRepository.NombreWithStock;
+import com.mycompany.myapp.service.dto.MedicamentoSuggestionDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for the typeahead suggestions of {@link com.mycompany.myapp.domain.Medicamento} names.
+ * <p>
+ * Suggestions are served from an immutable in-memory index, so a keystroke never reaches the database: the names,
+ * folded like in {@link MedicamentoSearchService}, are kept in a sorted array where a prefix is a range found by
+ * binary search, and the best suggestions of the prefixes matching too many names to be ranked on the fly are
+ * computed upfront. Names are ranked by stock, then alphabetically.
+ * <p>
+ * The index is rebuilt in the background every {@code application.suggestion.refresh-interval}, and swapped atomically.
+ */
+@Service
+public class MedicamentoSuggestionService {
+
+    /**
+     * Maximum number of suggestions returned for a prefix.
+     */
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(MedicamentoSuggestionService.class);
+
+    private final MedicamentoRepository medicamentoRepository;
+
+    private volatile SuggestionIndex index = SuggestionIndex.EMPTY;
+
+    public MedicamentoSuggestionService(MedicamentoRepository medicamentoRepository) {
+        this.medicamentoRepository = medicamentoRepository;
+    }
+
+    /**
+     * Rebuild the index from the database, by keyset pages, then swap it with the current one.
+     */
+    @Scheduled(fixedDelayString = "${application.suggestion.refresh-interval:PT1M}")
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE);
+        List<NombreWithStock> entries = new ArrayList<>();
+        long lastId = 0L;
+        Slice<NombreWithStock> slice;
+        do {
+            slice = medicamentoRepository.findNombreWithStockByIdGreaterThan(lastId, pageable);
+            entries.addAll(slice.getContent());
+            if (slice.hasContent()) {
+                lastId = slice.getContent().get(slice.getNumberOfElements() - 1).getId();
+            }
+        } while (slice.hasNext());
+        index = new SuggestionIndex(entries);
+        log.debug("Indexed {} medicamento names in {} ms", entries.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Suggest the names of the medicamentos starting with the given prefix, regardless of case and accents.
+     *
+     * @param prefix the prefix typed so far.
+     * @param size the maximum number of suggestions, capped to {@link #MAX_SUGGESTIONS}.
+     * @return the suggestions, best ranked first.
+     */
+    public List<MedicamentoSuggestionDTO> suggest(String prefix, int size) {
+        if (prefix == null || prefix.isBlank() || size <= 0) {
+            return List.of();
+        }
+        return index.suggest(MedicamentoSearchService.fold(prefix.strip()), Math.min(size, MAX_SUGGESTIONS));
+    }
+
+    /**
+     * Immutable prefix index over the folded names.
+     */
+    static final class SuggestionIndex {
+
+        static final SuggestionIndex EMPTY = new SuggestionIndex(List.of());
+
+        /**
+         * Prefixes matching more names than this have their best suggestions computed upfront.
+         */
+        static final int SCAN_LIMIT = 256;
+
+        private final String[] keys;
+
+        private final long[] ids;
+
+        private final String[] nombres;
+
+        private final int[] stocks;
+
+        private final Map<String, int[]> rankedByPrefix = new HashMap<>();
+
+        /**
+         * Ranks by stock descending, then by key, which is the order of the indexes.
+         */
+        private final Comparator<Integer> rankOrder;
+
+        SuggestionIndex(List<NombreWithStock> entries) {
+            String[] folded = entries
+                .stream()
+                .map(entry -> MedicamentoSearchService.fold(entry.getNombre().strip()))
+                .toArray(String[]::new);
+            int[] order = IntStream
+                .range(0, entries.size())
+                .boxed()
+                .sorted(Comparator.comparing(i -> folded[i]))
+                .mapToInt(i -> i)
+                .toArray();
+            keys = new String[order.length];
+            ids = new long[order.length];
+            nombres = new String[order.length];
+            stocks = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                NombreWithStock entry = entries.get(order[i]);
+                keys[i] = folded[order[i]];
+                ids[i] = entry.getId();
+                nombres[i] = entry.getNombre();
+                stocks[i] = entry.getCantidadStock() == null ? 0 : entry.getCantidadStock();
+            }
+            rankOrder = Comparator.<Integer>comparingInt(i -> stocks[i]).reversed().thenComparingInt(i -> i);
+            rankHeavyPrefixes(0, keys.length, 0);
+        }
+
+        List<MedicamentoSuggestionDTO> suggest(String prefix, int size) {
+            int[] ranked = rankedByPrefix.get(prefix);
+            if (ranked == null) {
+                ranked = rank(lowerBound(prefix), lowerBound(prefix + Character.MAX_VALUE), size);
+            }
+            return Arrays
+                .stream(ranked, 0, Math.min(size, ranked.length))
+                .mapToObj(i -> new MedicamentoSuggestionDTO(ids[i], nombres[i], stocks[i]))
+                .toList();
+        }
+
+        /**
+         * Recursively rank the prefixes longer than {@code depth} matching more than {@link #SCAN_LIMIT} keys, knowing
+         * that the keys in {@code [from, to)} share the same first {@code depth} characters.
+         */
+        private void rankHeavyPrefixes(int from, int to, int depth) {
+            int i = from;
+            while (i < to) {
+                if (keys[i].length() <= depth) {
+                    i++;
+                    continue;
+                }
+                String prefix = keys[i].substring(0, depth + 1);
+                int j = i + 1;
+                while (j < to && keys[j].startsWith(prefix)) {
+                    j++;
+                }
+                if (j - i > SCAN_LIMIT) {
+                    rankedByPrefix.put(prefix, rank(i, j, MAX_SUGGESTIONS));
+                    rankHeavyPrefixes(i, j, depth + 1);
+                }
+                i = j;
+            }
+        }
+
+        private int[] rank(int from, int to, int size) {
+            // Bounded heap whose head is the worst of the best suggestions found so far
+            PriorityQueue<Integer> best = new PriorityQueue<>(size + 1, rankOrder.reversed());
+            for (int i = from; i < to; i++) {
+                best.add(i);
+                if (best.size() > size) {
+                    best.poll();
+                }
+            }
+            return best.stream().sorted(rankOrder).mapToInt(i -> i).toArray();
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
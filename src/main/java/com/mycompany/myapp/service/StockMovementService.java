@@ -0,0 +1,153 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Inventario;
+import com.mycompany.myapp.repository.InventarioRepository;
+import com.mycompany.myapp.service.dto.StockMovementDTO;
+import com.mycompany.myapp.service.dto.StockMovementResultDTO;
+import com.mycompany.myapp.service.dto.StockMovementResultDTO.Status;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for applying bulk stock movements, such as deliveries or point-of-sale synchronizations.
+ * <p>
+ * Movements are applied in chunks of {@code hibernate.jdbc.batch_size} lines: each chunk runs in its own transaction,
+ * loads all its inventarios with a single query, and is written back by Hibernate as one JDBC batch of versioned updates.
+ * A chunk that has been applied stays applied, even if a later chunk fails.
+ * <p>
+ * Inventarios are not locked while a chunk is applied: a chunk that conflicts with a concurrent update is retried with
+ * an exponential backoff, up to {@code application.stock-movement.max-attempts} times, after which its lines are
+ * reported as {@link Status#CONFLICT}.
+ */
+@Service
+public class StockMovementService {
+
+    private final Logger log = LoggerFactory.getLogger(StockMovementService.class);
+
+    private final InventarioRepository inventarioRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final ApplicationProperties.StockMovement retryProperties;
+
+    public StockMovementService(
+        InventarioRepository inventarioRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize
+    ) {
+        this.inventarioRepository = inventarioRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retryProperties = applicationProperties.getStockMovement();
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Apply stock movements, in order.
+     *
+     * @param movements the movements to apply, a {@code null} element being an unreadable line.
+     * @return the outcome of each movement, in the same order.
+     */
+    public List<StockMovementResultDTO> applyMovements(Iterator<StockMovementDTO> movements) {
+        List<StockMovementResultDTO> results = new ArrayList<>();
+        List<StockMovementDTO> chunk = new ArrayList<>(batchSize);
+        while (movements.hasNext()) {
+            chunk.add(movements.next());
+            if (chunk.size() == batchSize) {
+                results.addAll(applyChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(applyChunk(chunk));
+        }
+        log.debug("Applied {} stock movements", results.size());
+        return results;
+    }
+
+    private List<StockMovementResultDTO> applyChunk(List<StockMovementDTO> chunk) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyChunkInTransaction(chunk));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= retryProperties.getMaxAttempts()) {
+                    log.warn("Stock movements conflicted {} times with concurrent updates, giving up", attempt);
+                    return chunk.stream().map(movement -> new StockMovementResultDTO(movement, Status.CONFLICT, null)).toList();
+                }
+                log.debug("Stock movements conflicted with a concurrent update, retrying (attempt {})", attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private List<StockMovementResultDTO> applyChunkInTransaction(List<StockMovementDTO> chunk) {
+        Set<Long> medicamentoIds = new HashSet<>();
+        for (StockMovementDTO movement : chunk) {
+            if (isValid(movement)) {
+                medicamentoIds.add(movement.getMedicamentoId());
+            }
+        }
+        Map<Long, Inventario> inventarios = medicamentoIds.isEmpty()
+            ? Map.of()
+            : inventarioRepository
+                .findAllByMedicamentoIdIn(medicamentoIds)
+                .stream()
+                .collect(Collectors.toMap(inventario -> inventario.getMedicamento().getId(), Function.identity()));
+
+        List<StockMovementResultDTO> results = new ArrayList<>(chunk.size());
+        for (StockMovementDTO movement : chunk) {
+            results.add(apply(movement, inventarios));
+        }
+        // Flush now, so that a version conflict is raised here rather than on commit
+        inventarioRepository.flush();
+        return results;
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(retryProperties.getBackoff().toMillis() << (attempt - 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying stock movements", e);
+        }
+    }
+
+    private StockMovementResultDTO apply(StockMovementDTO movement, Map<Long, Inventario> inventarios) {
+        if (!isValid(movement)) {
+            return new StockMovementResultDTO(movement, Status.INVALID, null);
+        }
+        Inventario inventario = inventarios.get(movement.getMedicamentoId());
+        if (inventario == null) {
+            return new StockMovementResultDTO(movement, Status.NOT_FOUND, null);
+        }
+        long cantidadStock = (long) inventario.getCantidadStock() + movement.getDelta();
+        if (cantidadStock < 0) {
+            return new StockMovementResultDTO(movement, Status.INSUFFICIENT_STOCK, inventario.getCantidadStock());
+        }
+        if (cantidadStock > Integer.MAX_VALUE) {
+            return new StockMovementResultDTO(movement, Status.STOCK_OVERFLOW, inventario.getCantidadStock());
+        }
+        inventario.setCantidadStock((int) cantidadStock);
+        return new StockMovementResultDTO(movement, Status.APPLIED, inventario.getCantidadStock());
+    }
+
+    private boolean isValid(StockMovementDTO movement) {
+        return movement != null && movement.getMedicamentoId() != null && movement.getDelta() != null;
+    }
+}
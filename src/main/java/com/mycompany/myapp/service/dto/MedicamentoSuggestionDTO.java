@@ -0,0 +1,61 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing a typeahead suggestion: the name of a medicamento, with its stock.
+ */
+public class MedicamentoSuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String nombre;
+
+    private Integer cantidadStock;
+
+    public MedicamentoSuggestionDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public MedicamentoSuggestionDTO(Long id, String nombre, Integer cantidadStock) {
+        this.id = id;
+        this.nombre = nombre;
+        this.cantidadStock = cantidadStock;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public Integer getCantidadStock() {
+        return cantidadStock;
+    }
+
+    public void setCantidadStock(Integer cantidadStock) {
+        this.cantidadStock = cantidadStock;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MedicamentoSuggestionDTO{" +
+            "id=" + id +
+            ", nombre='" + nombre + "'" +
+            ", cantidadStock=" + cantidadStock +
+            "}";
+    }
+}
@@ -0,0 +1,49 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing a stock movement: a signed quantity to add to the inventario of a medicamento.
+ */
+public class StockMovementDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long medicamentoId;
+
+    private Integer delta;
+
+    public StockMovementDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public StockMovementDTO(Long medicamentoId, Integer delta) {
+        this.medicamentoId = medicamentoId;
+        this.delta = delta;
+    }
+
+    public Long getMedicamentoId() {
+        return medicamentoId;
+    }
+
+    public void setMedicamentoId(Long medicamentoId) {
+        this.medicamentoId = medicamentoId;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockMovementDTO{" +
+            "medicamentoId=" + medicamentoId +
+            ", delta=" + delta +
+            "}";
+    }
+}
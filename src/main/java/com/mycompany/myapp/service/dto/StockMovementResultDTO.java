@@ -0,0 +1,84 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of a single {@link StockMovementDTO}.
+ */
+public class StockMovementResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        APPLIED,
+        INSUFFICIENT_STOCK,
+        STOCK_OVERFLOW,
+        NOT_FOUND,
+        INVALID,
+        CONFLICT,
+    }
+
+    private Long medicamentoId;
+
+    private Integer delta;
+
+    private Status status;
+
+    private Integer cantidadStock;
+
+    public StockMovementResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public StockMovementResultDTO(StockMovementDTO movement, Status status, Integer cantidadStock) {
+        if (movement != null) {
+            this.medicamentoId = movement.getMedicamentoId();
+            this.delta = movement.getDelta();
+        }
+        this.status = status;
+        this.cantidadStock = cantidadStock;
+    }
+
+    public Long getMedicamentoId() {
+        return medicamentoId;
+    }
+
+    public void setMedicamentoId(Long medicamentoId) {
+        this.medicamentoId = medicamentoId;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Integer getCantidadStock() {
+        return cantidadStock;
+    }
+
+    public void setCantidadStock(Integer cantidadStock) {
+        this.cantidadStock = cantidadStock;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockMovementResultDTO{" +
+            "medicamentoId=" + medicamentoId +
+            ", delta=" + delta +
+            ", status=" + status +
+            ", cantidadStock=" + cantidadStock +
+            "}";
+    }
+}
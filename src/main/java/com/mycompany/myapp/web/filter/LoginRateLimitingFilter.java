@@ -0,0 +1,48 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.security.LoginRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+public class LoginRateLimitingFilter extends OncePerRequestFilter {
+
+    private final LoginRateLimiter loginRateLimiter;
+
+    public LoginRateLimitingFilter(LoginRateLimiter loginRateLimiter) {
+        this.loginRateLimiter = loginRateLimiter;
+    }
+
+    /**
+     * Rejects the logins from a client address past its rate limit with a {@code 429 (Too Many Requests)}, before the
+     * body is even read. The rate limit of the login itself is checked by
+     * {@link com.mycompany.myapp.web.rest.AuthenticateController}.
+     * <p>
+     * The client address is {@link HttpServletRequest#getRemoteAddr()}: behind a load balancer or a reverse proxy,
+     * {@code server.forward-headers-strategy} is required to take it from the forwarded headers, or else every client
+     * shares the rate limit of the proxy address.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        long retryAfterSeconds = loginRateLimiter.tryAcquireForAddress(request.getRemoteAddr());
+        if (retryAfterSeconds > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !HttpMethod.POST.matches(request.getMethod()) || !path.equals("/api/authenticate");
+    }
+}
@@ -1,30 +1,23 @@
 package com.mycompany.myapp.web.rest;
 
-import static com.mycompany.myapp.security.SecurityUtils.AUTHORITIES_KEY;
-import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
-
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mycompany.myapp.security.LoginRateLimiter;
+import com.mycompany.myapp.security.jwt.TokenProvider;
 import com.mycompany.myapp.web.rest.vm.LoginVM;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.JwsHeader;
-import org.springframework.security.oauth2.jwt.JwtClaimsSet;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -34,36 +27,70 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api")
 public class AuthenticateController {
 
+    private static final String LOGIN_RETRY_AFTER_SECONDS = "1";
+
     private final Logger log = LoggerFactory.getLogger(AuthenticateController.class);
 
-    private final JwtEncoder jwtEncoder;
+    private final TokenProvider tokenProvider;
 
-    @Value("${jhipster.security.authentication.jwt.token-validity-in-seconds:0}")
-    private long tokenValidityInSeconds;
+    private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    @Value("${jhipster.security.authentication.jwt.token-validity-in-seconds-for-remember-me:0}")
-    private long tokenValidityInSecondsForRememberMe;
+    private final Executor passwordHashingExecutor;
 
-    private final AuthenticationManagerBuilder authenticationManagerBuilder;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public AuthenticateController(JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
-        this.jwtEncoder = jwtEncoder;
+    public AuthenticateController(
+        TokenProvider tokenProvider,
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        @Qualifier("passwordHashingExecutor") Executor passwordHashingExecutor,
+        LoginRateLimiter loginRateLimiter
+    ) {
+        this.tokenProvider = tokenProvider;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
+    /**
+     * {@code POST /authenticate} : authenticate a user, and return a short-lived access token with a refresh token.
+     * <p>
+     * The password is verified by the password hashing executor, which leaves the request thread free meanwhile.
+     *
+     * @param loginVM the login and password of the user.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the tokens in body, or with status
+     * {@code 429 (Too Many Requests)} if the login is past its rate limit, or with status
+     * {@code 503 (Service Unavailable)} if too many logins are already waiting for their password to be verified.
+     */
     @PostMapping("/authenticate")
-    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+    public CompletableFuture<ResponseEntity<JWTToken>> authorize(@Valid @RequestBody LoginVM loginVM) {
+        long retryAfterSeconds = loginRateLimiter.tryAcquireForLogin(loginVM.getUsername());
+        if (retryAfterSeconds > 0) {
+            return CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds)).build()
+            );
+        }
+
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
             loginVM.getUsername(),
             loginVM.getPassword()
         );
 
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = this.createToken(authentication, loginVM.isRememberMe());
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setBearerAuth(jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        CompletableFuture<Authentication> authentication;
+        try {
+            authentication =
+                CompletableFuture.supplyAsync(
+                    () -> authenticationManagerBuilder.getObject().authenticate(authenticationToken),
+                    passwordHashingExecutor
+                );
+        } catch (RejectedExecutionException e) {
+            log.warn("Too many logins waiting for their password to be verified, rejecting the login of {}", loginVM.getUsername());
+            return CompletableFuture.completedFuture(
+                ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, LOGIN_RETRY_AFTER_SECONDS).build()
+            );
+        }
+        return authentication.thenApply(auth ->
+            tokenResponse(tokenProvider.createAccessToken(auth), tokenProvider.createRefreshToken(auth.getName(), loginVM.isRememberMe()))
+        );
     }
 
     /**
@@ -78,27 +105,10 @@ public class AuthenticateController {
         return request.getRemoteUser();
     }
 
-    public String createToken(Authentication authentication, boolean rememberMe) {
-        String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(" "));
-
-        Instant now = Instant.now();
-        Instant validity;
-        if (rememberMe) {
-            validity = now.plus(this.tokenValidityInSecondsForRememberMe, ChronoUnit.SECONDS);
-        } else {
-            validity = now.plus(this.tokenValidityInSeconds, ChronoUnit.SECONDS);
-        }
-
-        // @formatter:off
-        JwtClaimsSet claims = JwtClaimsSet.builder()
-            .issuedAt(now)
-            .expiresAt(validity)
-            .subject(authentication.getName())
-            .claim(AUTHORITIES_KEY, authorities)
-            .build();
-
-        JwsHeader jwsHeader = JwsHeader.with(JWT_ALGORITHM).build();
-        return this.jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
+    static ResponseEntity<JWTToken> tokenResponse(String accessToken, String refreshToken) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setBearerAuth(accessToken);
+        return new ResponseEntity<>(new JWTToken(accessToken, refreshToken), httpHeaders, HttpStatus.OK);
     }
 
     /**
@@ -108,8 +118,11 @@ public class AuthenticateController {
 
         private String idToken;
 
-        JWTToken(String idToken) {
+        private String refreshToken;
+
+        JWTToken(String idToken, String refreshToken) {
             this.idToken = idToken;
+            this.refreshToken = refreshToken;
         }
 
         @JsonProperty("id_token")
@@ -120,5 +133,14 @@ public class AuthenticateController {
         void setIdToken(String idToken) {
             this.idToken = idToken;
         }
+
+        @JsonProperty("refresh_token")
+        String getRefreshToken() {
+            return refreshToken;
+        }
+
+        void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
     }
 }
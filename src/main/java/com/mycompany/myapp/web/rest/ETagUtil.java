@@ -0,0 +1,75 @@
+package com.mycompany.myapp.web.rest;
+
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Utility class for mapping the optimistic locking version of an entity to HTTP entity tags.
+ */
+final class ETagUtil {
+
+    private ETagUtil() {}
+
+    /**
+     * Build the entity tag of an entity version.
+     *
+     * @param version the version of the entity.
+     * @return the strong entity tag.
+     */
+    static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Wrap the optional into a {@link ResponseEntity} with status {@code 200 (OK)} and the entity tag of its version,
+     * or throw a {@link ResponseStatusException} with status {@code 404 (Not Found)} if it is empty.
+     *
+     * @param maybeResponse the response to return if present.
+     * @param version the function returning the version of the response.
+     * @param header the headers to add to the response.
+     * @param <X> the type of the response.
+     * @return the response with its entity tag.
+     */
+    static <X> ResponseEntity<X> wrapOrNotFound(Optional<X> maybeResponse, Function<X, Long> version, HttpHeaders header) {
+        return maybeResponse
+            .map(response -> ResponseEntity.ok().headers(header).eTag(eTag(version.apply(response))).body(response))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Check that the version of an entity about to be updated is the one the client expects.
+     * <p>
+     * The {@code If-Match} header takes precedence over the version sent in the body.
+     *
+     * @param ifMatch the {@code If-Match} header of the request, if any.
+     * @param requestedVersion the version sent in the body of the request, if any.
+     * @param currentVersion the current version of the entity.
+     * @throws ResponseStatusException with status {@code 412 (Precondition Failed)} if the {@code If-Match} header doesn't match.
+     * @throws OptimisticLockingFailureException if the version sent in the body is stale.
+     */
+    static void checkVersion(String ifMatch, Long requestedVersion, Long currentVersion) {
+        if (ifMatch != null) {
+            if (!matches(ifMatch, currentVersion)) {
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+            }
+        } else if (requestedVersion != null && !requestedVersion.equals(currentVersion)) {
+            throw new OptimisticLockingFailureException("Version " + requestedVersion + " is stale, current is " + currentVersion);
+        }
+    }
+
+    private static boolean matches(String ifMatch, Long currentVersion) {
+        String currentTag = eTag(currentVersion);
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if ("*".equals(trimmed) || currentTag.equals(trimmed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,19 +1,37 @@
 package com.mycompany.myapp.web.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.mycompany.myapp.domain.Inventario;
+import com.mycompany.myapp.domain.Medicamento;
 import com.mycompany.myapp.repository.InventarioRepository;
+import com.mycompany.myapp.repository.InventarioRepository.InventarioSummary;
+import com.mycompany.myapp.repository.MedicamentoRepository;
+import com.mycompany.myapp.service.StockMovementService;
+import com.mycompany.myapp.service.dto.StockMovementDTO;
+import com.mycompany.myapp.service.dto.StockMovementResultDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.vm.StockLevelVM;
+import com.mycompany.myapp.web.rest.vm.StockMovementVM;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import tech.jhipster.web.util.HeaderUtil;
@@ -24,20 +42,35 @@ import tech.jhipster.web.util.ResponseUtil;
  */
 @RestController
 @RequestMapping("/api")
-@Transactional
 public class InventarioResource {
 
     private final Logger log = LoggerFactory.getLogger(InventarioResource.class);
 
     private static final String ENTITY_NAME = "inventario";
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final InventarioRepository inventarioRepository;
 
-    public InventarioResource(InventarioRepository inventarioRepository) {
+    private final MedicamentoRepository medicamentoRepository;
+
+    private final StockMovementService stockMovementService;
+
+    private final ObjectReader stockMovementReader;
+
+    public InventarioResource(
+        InventarioRepository inventarioRepository,
+        MedicamentoRepository medicamentoRepository,
+        StockMovementService stockMovementService,
+        ObjectMapper objectMapper
+    ) {
         this.inventarioRepository = inventarioRepository;
+        this.medicamentoRepository = medicamentoRepository;
+        this.stockMovementService = stockMovementService;
+        this.stockMovementReader = objectMapper.readerFor(StockMovementDTO.class);
     }
 
     /**
@@ -48,11 +81,13 @@ public class InventarioResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/inventarios")
+    @Transactional
     public ResponseEntity<Inventario> createInventario(@Valid @RequestBody Inventario inventario) throws URISyntaxException {
         log.debug("REST request to save Inventario : {}", inventario);
         if (inventario.getId() != null) {
             throw new BadRequestAlertException("A new inventario cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        attachMedicamento(inventario);
         Inventario result = inventarioRepository.save(inventario);
         return ResponseEntity
             .created(new URI("/api/inventarios/" + result.getId()))
@@ -64,15 +99,21 @@ public class InventarioResource {
      * {@code PUT  /inventarios/:id} : Updates an existing inventario.
      *
      * @param id the id of the inventario to save.
+     * @param ifMatch the entity tag of the version of the inventario to update, if any.
      * @param inventario the inventario to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated inventario,
      * or with status {@code 400 (Bad Request)} if the inventario is not valid,
+     * or with status {@code 409 (Conflict)} if the version in body is stale,
+     * or with status {@code 412 (Precondition Failed)} if the {@code If-Match} header doesn't match the current version,
+     * or with status {@code 404 (Not Found)} if the inventario is not found,
      * or with status {@code 500 (Internal Server Error)} if the inventario couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/inventarios/{id}")
+    @Transactional
     public ResponseEntity<Inventario> updateInventario(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Inventario inventario
     ) throws URISyntaxException {
         log.debug("REST request to update Inventario : {}, {}", id, inventario);
@@ -83,31 +124,44 @@ public class InventarioResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!inventarioRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        attachMedicamento(inventario);
+        Optional<Inventario> result = inventarioRepository
+            .findById(id)
+            .map(existingInventario -> {
+                ETagUtil.checkVersion(ifMatch, inventario.getVersion(), existingInventario.getVersion());
+                existingInventario.setCantidadStock(inventario.getCantidadStock());
+                existingInventario.setMedicamento(inventario.getMedicamento());
 
-        Inventario result = inventarioRepository.save(inventario);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, inventario.getId().toString()))
-            .body(result);
+                return existingInventario;
+            })
+            .map(inventarioRepository::saveAndFlush);
+
+        return ETagUtil.wrapOrNotFound(
+            result,
+            Inventario::getVersion,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, inventario.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /inventarios/:id} : Partial updates given fields of an existing inventario, field will ignore if it is null
      *
      * @param id the id of the inventario to save.
+     * @param ifMatch the entity tag of the version of the inventario to update, if any.
      * @param inventario the inventario to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated inventario,
      * or with status {@code 400 (Bad Request)} if the inventario is not valid,
+     * or with status {@code 409 (Conflict)} if the version in body is stale,
+     * or with status {@code 412 (Precondition Failed)} if the {@code If-Match} header doesn't match the current version,
      * or with status {@code 404 (Not Found)} if the inventario is not found,
      * or with status {@code 500 (Internal Server Error)} if the inventario couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/inventarios/{id}", consumes = { "application/json", "application/merge-patch+json" })
+    @Transactional
     public ResponseEntity<Inventario> partialUpdateInventario(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Inventario inventario
     ) throws URISyntaxException {
         log.debug("REST request to partial update Inventario partially : {}, {}", id, inventario);
@@ -118,36 +172,139 @@ public class InventarioResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!inventarioRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<Inventario> result = inventarioRepository
             .findById(inventario.getId())
             .map(existingInventario -> {
+                ETagUtil.checkVersion(ifMatch, inventario.getVersion(), existingInventario.getVersion());
                 if (inventario.getCantidadStock() != null) {
                     existingInventario.setCantidadStock(inventario.getCantidadStock());
                 }
 
                 return existingInventario;
             })
-            .map(inventarioRepository::save);
+            .map(inventarioRepository::saveAndFlush);
 
-        return ResponseUtil.wrapOrNotFound(
+        return ETagUtil.wrapOrNotFound(
             result,
+            Inventario::getVersion,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, inventario.getId().toString())
         );
     }
 
+    /**
+     * {@code POST  /inventarios/:id/decrement} : Atomically removes a quantity from the stock of an inventario.
+     * <p>
+     * The stock is checked and updated by a single conditional {@code UPDATE}, so concurrent sales never lose updates.
+     *
+     * @param id the id of the inventario to update.
+     * @param movement the quantity to remove.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the new stock level,
+     * or with status {@code 400 (Bad Request)} if there is not enough stock,
+     * or with status {@code 404 (Not Found)} if the inventario is not found.
+     */
+    @PostMapping("/inventarios/{id}/decrement")
+    @Transactional
+    public ResponseEntity<StockLevelVM> decrementInventario(@PathVariable Long id, @Valid @RequestBody StockMovementVM movement) {
+        log.debug("REST request to decrement Inventario : {}, {}", id, movement);
+        Optional<Integer> cantidadStock = inventarioRepository.decrementCantidadStock(id, movement.getCantidad());
+        if (cantidadStock.isEmpty() && inventarioRepository.existsById(id)) {
+            throw new BadRequestAlertException("Not enough stock", ENTITY_NAME, "insufficientstock");
+        }
+        return stockLevel(id, cantidadStock);
+    }
+
+    /**
+     * {@code POST  /inventarios/:id/increment} : Atomically adds a quantity to the stock of an inventario.
+     *
+     * @param id the id of the inventario to update.
+     * @param movement the quantity to add.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the new stock level,
+     * or with status {@code 400 (Bad Request)} if the stock would exceed its maximum,
+     * or with status {@code 404 (Not Found)} if the inventario is not found.
+     */
+    @PostMapping("/inventarios/{id}/increment")
+    @Transactional
+    public ResponseEntity<StockLevelVM> incrementInventario(@PathVariable Long id, @Valid @RequestBody StockMovementVM movement) {
+        log.debug("REST request to increment Inventario : {}, {}", id, movement);
+        Optional<Integer> cantidadStock = inventarioRepository.incrementCantidadStock(id, movement.getCantidad());
+        if (cantidadStock.isEmpty() && inventarioRepository.existsById(id)) {
+            throw new BadRequestAlertException("Stock would exceed its maximum", ENTITY_NAME, "stockoverflow");
+        }
+        return stockLevel(id, cantidadStock);
+    }
+
+    private ResponseEntity<StockLevelVM> stockLevel(Long id, Optional<Integer> cantidadStock) {
+        return ResponseUtil.wrapOrNotFound(
+            cantidadStock.map(stock -> new StockLevelVM(id, stock)),
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString())
+        );
+    }
+
+    private void attachMedicamento(Inventario inventario) {
+        // The medicamento is only sent by reference: without its version, Hibernate would consider it as transient.
+        Medicamento medicamento = inventario.getMedicamento();
+        if (medicamento != null && medicamento.getId() != null) {
+            inventario.setMedicamento(medicamentoRepository.getReferenceById(medicamento.getId()));
+        }
+    }
+
+    /**
+     * {@code POST  /inventarios/movements} : Apply a list of stock movements to the inventarios of their medicamentos.
+     * <p>
+     * Movements are applied in JDBC batches, each batch being committed on its own.
+     *
+     * @param movements the stock movements to apply.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each movement, in order.
+     */
+    @PostMapping(value = "/inventarios/movements", consumes = "application/json")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<StockMovementResultDTO>> applyStockMovements(@NotNull @RequestBody List<StockMovementDTO> movements) {
+        log.debug("REST request to apply {} stock movements", movements.size());
+        return ResponseEntity.ok(stockMovementService.applyMovements(movements.iterator()));
+    }
+
+    /**
+     * {@code POST  /inventarios/movements} : Apply a stream of newline-delimited JSON stock movements to the inventarios
+     * of their medicamentos.
+     * <p>
+     * The stream is read lazily, one batch at a time. A line that cannot be read is reported as invalid.
+     *
+     * @param movements the stream of stock movements to apply, one JSON object per line.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of each movement, in order.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/inventarios/movements", consumes = APPLICATION_NDJSON_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<StockMovementResultDTO>> applyStockMovementsStream(InputStream movements) throws IOException {
+        log.debug("REST request to apply a stream of stock movements");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(movements, StandardCharsets.UTF_8))) {
+            return ResponseEntity.ok(
+                stockMovementService.applyMovements(reader.lines().filter(line -> !line.isBlank()).map(this::readStockMovement).iterator())
+            );
+        }
+    }
+
+    private StockMovementDTO readStockMovement(String line) {
+        try {
+            return stockMovementReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            log.debug("Invalid stock movement line : {}", line);
+            return null;
+        }
+    }
+
     /**
      * {@code GET  /inventarios} : get all the inventarios.
+     * <p>
+     * The inventarios are read as summaries, in a read-only transaction, without any managed entity.
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of inventarios in body.
      */
     @GetMapping("/inventarios")
-    public List<Inventario> getAllInventarios() {
+    @Transactional(readOnly = true)
+    public List<InventarioSummary> getAllInventarios() {
         log.debug("REST request to get all Inventarios");
-        return inventarioRepository.findAll();
+        return inventarioRepository.findAllSummaries();
     }
 
     /**
@@ -157,10 +314,11 @@ public class InventarioResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the inventario, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/inventarios/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Inventario> getInventario(@PathVariable Long id) {
         log.debug("REST request to get Inventario : {}", id);
         Optional<Inventario> inventario = inventarioRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(inventario);
+        return ETagUtil.wrapOrNotFound(inventario, Inventario::getVersion, new HttpHeaders());
     }
 
     /**
@@ -170,6 +328,7 @@ public class InventarioResource {
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
      */
     @DeleteMapping("/inventarios/{id}")
+    @Transactional
     public ResponseEntity<Void> deleteInventario(@PathVariable Long id) {
         log.debug("REST request to delete Inventario : {}", id);
         inventarioRepository.deleteById(id);
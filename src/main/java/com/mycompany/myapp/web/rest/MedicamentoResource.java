@@ -2,23 +2,37 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.Medicamento;
 import com.mycompany.myapp.repository.MedicamentoRepository;
+import com.mycompany.myapp.repository.MedicamentoRepository.MedicamentoSummary;
+import com.mycompany.myapp.service.MedicamentoSearchService;
+import com.mycompany.myapp.service.MedicamentoSuggestionService;
+import com.mycompany.myapp.service.dto.MedicamentoSuggestionDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Medicamento}.
@@ -32,13 +46,29 @@ public class MedicamentoResource {
 
     private static final String ENTITY_NAME = "medicamento";
 
+    private static final String INVENTARIO_IS_NULL_FILTER = "inventario-is-null";
+
+    private static final List<String> ALLOWED_ORDERED_PROPERTIES = Collections.unmodifiableList(
+        Arrays.asList("id", "nombre", "descripcion", "precio")
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final MedicamentoRepository medicamentoRepository;
 
-    public MedicamentoResource(MedicamentoRepository medicamentoRepository) {
+    private final MedicamentoSearchService medicamentoSearchService;
+
+    private final MedicamentoSuggestionService medicamentoSuggestionService;
+
+    public MedicamentoResource(
+        MedicamentoRepository medicamentoRepository,
+        MedicamentoSearchService medicamentoSearchService,
+        MedicamentoSuggestionService medicamentoSuggestionService
+    ) {
         this.medicamentoRepository = medicamentoRepository;
+        this.medicamentoSearchService = medicamentoSearchService;
+        this.medicamentoSuggestionService = medicamentoSuggestionService;
     }
 
     /**
@@ -65,15 +95,20 @@ public class MedicamentoResource {
      * {@code PUT  /medicamentos/:id} : Updates an existing medicamento.
      *
      * @param id the id of the medicamento to save.
+     * @param ifMatch the entity tag of the version of the medicamento to update, if any.
      * @param medicamento the medicamento to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated medicamento,
      * or with status {@code 400 (Bad Request)} if the medicamento is not valid,
+     * or with status {@code 409 (Conflict)} if the version in body is stale,
+     * or with status {@code 412 (Precondition Failed)} if the {@code If-Match} header doesn't match the current version,
+     * or with status {@code 404 (Not Found)} if the medicamento is not found,
      * or with status {@code 500 (Internal Server Error)} if the medicamento couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/medicamentos/{id}")
     public ResponseEntity<Medicamento> updateMedicamento(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Medicamento medicamento
     ) throws URISyntaxException {
         log.debug("REST request to update Medicamento : {}, {}", id, medicamento);
@@ -84,24 +119,35 @@ public class MedicamentoResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!medicamentoRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<Medicamento> result = medicamentoRepository
+            .findById(id)
+            .map(existingMedicamento -> {
+                ETagUtil.checkVersion(ifMatch, medicamento.getVersion(), existingMedicamento.getVersion());
+                existingMedicamento.setNombre(medicamento.getNombre());
+                existingMedicamento.setDescripcion(medicamento.getDescripcion());
+                existingMedicamento.setPrecio(medicamento.getPrecio());
 
-        Medicamento result = medicamentoRepository.save(medicamento);
-        return ResponseEntity
-            .ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, medicamento.getId().toString()))
-            .body(result);
+                return existingMedicamento;
+            })
+            .map(medicamentoRepository::saveAndFlush);
+
+        return ETagUtil.wrapOrNotFound(
+            result,
+            Medicamento::getVersion,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, medicamento.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /medicamentos/:id} : Partial updates given fields of an existing medicamento, field will ignore if it is null
      *
      * @param id the id of the medicamento to save.
+     * @param ifMatch the entity tag of the version of the medicamento to update, if any.
      * @param medicamento the medicamento to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated medicamento,
      * or with status {@code 400 (Bad Request)} if the medicamento is not valid,
+     * or with status {@code 409 (Conflict)} if the version in body is stale,
+     * or with status {@code 412 (Precondition Failed)} if the {@code If-Match} header doesn't match the current version,
      * or with status {@code 404 (Not Found)} if the medicamento is not found,
      * or with status {@code 500 (Internal Server Error)} if the medicamento couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -109,6 +155,7 @@ public class MedicamentoResource {
     @PatchMapping(value = "/medicamentos/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Medicamento> partialUpdateMedicamento(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Medicamento medicamento
     ) throws URISyntaxException {
         log.debug("REST request to partial update Medicamento partially : {}, {}", id, medicamento);
@@ -119,13 +166,10 @@ public class MedicamentoResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!medicamentoRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
         Optional<Medicamento> result = medicamentoRepository
             .findById(medicamento.getId())
             .map(existingMedicamento -> {
+                ETagUtil.checkVersion(ifMatch, medicamento.getVersion(), existingMedicamento.getVersion());
                 if (medicamento.getNombre() != null) {
                     existingMedicamento.setNombre(medicamento.getNombre());
                 }
@@ -138,31 +182,127 @@ public class MedicamentoResource {
 
                 return existingMedicamento;
             })
-            .map(medicamentoRepository::save);
+            .map(medicamentoRepository::saveAndFlush);
 
-        return ResponseUtil.wrapOrNotFound(
+        return ETagUtil.wrapOrNotFound(
             result,
+            Medicamento::getVersion,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, medicamento.getId().toString())
         );
     }
 
     /**
      * {@code GET  /medicamentos} : get all the medicamentos.
+     * <p>
+     * By default the medicamentos are returned by offset pages. When {@code afterId} is given, a keyset (seek) page
+     * of the medicamentos with an id greater than {@code afterId} is returned instead, always ordered by id: the cost of
+     * such a page does not depend on its depth, and the {@code Link} header points to the next one.
+     * <p>
+     * With the {@code inventario-is-null} filter, {@code nombre} restricts the medicamentos to the names starting with
+     * it, and a slice is returned without pagination headers, for a selector queried as the user types.
+     * <p>
+     * The medicamentos are read as summaries, in a read-only transaction, without any managed entity.
      *
+     * @param pageable the pagination information.
+     * @param afterId the id of the last medicamento of the previous keyset page.
      * @param filter the filter of the request.
+     * @param nombre the beginning of the name of the medicamentos without inventario.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of medicamentos in body.
      */
     @GetMapping("/medicamentos")
-    public List<Medicamento> getAllMedicamentos(@RequestParam(required = false) String filter) {
-        if ("inventario-is-null".equals(filter)) {
-            log.debug("REST request to get all Medicamentos where inventario is null");
-            return StreamSupport
-                .stream(medicamentoRepository.findAll().spliterator(), false)
-                .filter(medicamento -> medicamento.getInventario() == null)
-                .toList();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<MedicamentoSummary>> getAllMedicamentos(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false) Long afterId,
+        @RequestParam(required = false) String filter,
+        @RequestParam(required = false) String nombre
+    ) {
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (INVENTARIO_IS_NULL_FILTER.equals(filter) && nombre != null && !nombre.isBlank()) {
+            log.debug("REST request to get a slice of Medicamentos where inventario is null by nombre : {}", nombre);
+            Slice<MedicamentoSummary> slice = medicamentoRepository.findSummariesWhereInventarioIsNullByNombreStartingWith(
+                nombre.strip(),
+                pageable
+            );
+            return ResponseEntity.ok().body(slice.getContent());
+        }
+        if (INVENTARIO_IS_NULL_FILTER.equals(filter)) {
+            log.debug("REST request to get a page of Medicamentos where inventario is null");
+            Page<MedicamentoSummary> page = medicamentoRepository.findAllSummariesWhereInventarioIsNull(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        if (afterId != null) {
+            log.debug("REST request to get a keyset page of Medicamentos after : {}", afterId);
+            Slice<MedicamentoSummary> slice = medicamentoRepository.findSummariesByIdGreaterThan(
+                afterId,
+                PageRequest.of(0, pageable.getPageSize(), Sort.by(Sort.Direction.ASC, "id"))
+            );
+            HttpHeaders headers = generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
         }
-        log.debug("REST request to get all Medicamentos");
-        return medicamentoRepository.findAll();
+        log.debug("REST request to get a page of Medicamentos");
+        Page<MedicamentoSummary> page = medicamentoRepository.findAllSummaries(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /medicamentos/count} : count all the medicamentos.
+     *
+     * @param filter the filter of the request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/medicamentos/count")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Long> countMedicamentos(@RequestParam(required = false) String filter) {
+        if (INVENTARIO_IS_NULL_FILTER.equals(filter)) {
+            log.debug("REST request to count Medicamentos where inventario is null");
+            return ResponseEntity.ok().body(medicamentoRepository.countWhereInventarioIsNull());
+        }
+        log.debug("REST request to count Medicamentos");
+        return ResponseEntity.ok().body(medicamentoRepository.count());
+    }
+
+    private boolean onlyContainsAllowedProperties(Pageable pageable) {
+        return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
+    }
+
+    private HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Slice<MedicamentoSummary> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            Long lastId = slice.getContent().get(slice.getNumberOfElements() - 1).id();
+            String next = uriBuilder
+                .replaceQueryParam("afterId", lastId)
+                .replaceQueryParam("size", slice.getSize())
+                .replaceQueryParam("page")
+                .replaceQueryParam("sort")
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    /**
+     * {@code GET  /medicamentos/suggestions?prefix=:prefix} : get typeahead suggestions for the medicamento names.
+     * <p>
+     * Suggestions are served from memory, without any transaction: they may lag behind the latest changes by up to
+     * {@code application.suggestion.refresh-interval}.
+     *
+     * @param prefix the beginning of the name, regardless of case and accents.
+     * @param size the maximum number of suggestions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the suggestions in body, best stocked first.
+     */
+    @GetMapping("/medicamentos/suggestions")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<MedicamentoSuggestionDTO>> suggestMedicamentos(
+        @RequestParam String prefix,
+        @RequestParam(defaultValue = "10") int size
+    ) {
+        log.debug("REST request to get suggestions of Medicamentos for prefix {}", prefix);
+        return ResponseEntity.ok().body(medicamentoSuggestionService.suggest(prefix, size));
     }
 
     /**
@@ -175,7 +315,7 @@ public class MedicamentoResource {
     public ResponseEntity<Medicamento> getMedicamento(@PathVariable Long id) {
         log.debug("REST request to get Medicamento : {}", id);
         Optional<Medicamento> medicamento = medicamentoRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(medicamento);
+        return ETagUtil.wrapOrNotFound(medicamento, Medicamento::getVersion, new HttpHeaders());
     }
 
     /**
@@ -193,4 +333,25 @@ public class MedicamentoResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * {@code SEARCH  /_search/medicamentos?q=:q} : search for the medicamentos corresponding to the query.
+     * <p>
+     * Each term of the query matches the beginning of a word of the nombre or the descripcion, regardless of case and
+     * accents. The matching medicamentos are ordered by id.
+     *
+     * @param q the query of the medicamento search.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the page of matching medicamentos in body.
+     */
+    @GetMapping("/_search/medicamentos")
+    public ResponseEntity<List<Medicamento>> searchMedicamentos(
+        @RequestParam("q") String q,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to search for a page of Medicamentos for query {}", q);
+        Page<Medicamento> page = medicamentoSearchService.search(q, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
 }
@@ -0,0 +1,122 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.security.jwt.CachingJwtDecoder;
+import com.mycompany.myapp.security.jwt.TokenProvider;
+import com.mycompany.myapp.security.jwt.TokenRevocationService;
+import com.mycompany.myapp.web.rest.vm.RefreshTokenVM;
+import jakarta.validation.Valid;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller to refresh and revoke the tokens issued by {@link AuthenticateController}.
+ */
+@RestController
+@RequestMapping("/api")
+public class RefreshTokenController {
+
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenController.class);
+
+    private final TokenProvider tokenProvider;
+
+    private final TokenRevocationService tokenRevocationService;
+
+    private final JwtDecoder refreshTokenDecoder;
+
+    private final CachingJwtDecoder jwtDecoder;
+
+    private final UserDetailsService userDetailsService;
+
+    public RefreshTokenController(
+        TokenProvider tokenProvider,
+        TokenRevocationService tokenRevocationService,
+        @Qualifier("refreshTokenDecoder") JwtDecoder refreshTokenDecoder,
+        CachingJwtDecoder jwtDecoder,
+        UserDetailsService userDetailsService
+    ) {
+        this.tokenProvider = tokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenDecoder = refreshTokenDecoder;
+        this.jwtDecoder = jwtDecoder;
+        this.userDetailsService = userDetailsService;
+    }
+
+    /**
+     * {@code POST /authenticate/refresh} : exchange a refresh token for a new access token and a new refresh token.
+     * <p>
+     * The refresh token can only be used once: it is revoked by the exchange. The user is loaded again, so that a
+     * deactivated user cannot refresh, and the new access token carries the current authorities.
+     *
+     * @param refreshTokenVM the refresh token.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the new tokens in body, or with status
+     * {@code 401 (Unauthorized)} if the refresh token is invalid, expired or already used.
+     */
+    @PostMapping("/authenticate/refresh")
+    public ResponseEntity<AuthenticateController.JWTToken> refresh(@Valid @RequestBody RefreshTokenVM refreshTokenVM) {
+        Jwt refreshToken = decodeRefreshToken(refreshTokenVM.getRefreshToken());
+        if (!tokenRevocationService.revoke(refreshToken.getId(), refreshToken.getExpiresAt())) {
+            log.warn("Refresh token of {} used twice", refreshToken.getSubject());
+            throw new BadCredentialsException("Refresh token already used");
+        }
+
+        UserDetails user = userDetailsService.loadUserByUsername(refreshToken.getSubject());
+        boolean rememberMe = Boolean.TRUE.equals(refreshToken.getClaimAsBoolean(TokenProvider.REMEMBER_ME_KEY));
+        return AuthenticateController.tokenResponse(
+            tokenProvider.createAccessToken(UsernamePasswordAuthenticationToken.authenticated(user.getUsername(), null, user.getAuthorities())),
+            tokenProvider.createRefreshToken(user.getUsername(), rememberMe)
+        );
+    }
+
+    /**
+     * {@code POST /authenticate/revoke} : revoke the access token of the request, and the given refresh token of the
+     * same user if any, to log out.
+     *
+     * @param accessToken the access token of the request.
+     * @param refreshTokenVM the refresh token, optional.
+     * @return the {@link ResponseEntity} with status {@code 204 (No Content)}.
+     */
+    @PostMapping("/authenticate/revoke")
+    public ResponseEntity<Void> revoke(
+        @AuthenticationPrincipal Jwt accessToken,
+        @RequestBody(required = false) RefreshTokenVM refreshTokenVM
+    ) {
+        if (accessToken == null) {
+            return ResponseEntity.noContent().build();
+        }
+        if (accessToken.getId() != null) {
+            tokenRevocationService.revoke(accessToken.getId(), accessToken.getExpiresAt());
+            jwtDecoder.invalidate(accessToken.getTokenValue());
+        }
+        if (refreshTokenVM != null && refreshTokenVM.getRefreshToken() != null) {
+            try {
+                Jwt refreshToken = refreshTokenDecoder.decode(refreshTokenVM.getRefreshToken());
+                if (Objects.equals(refreshToken.getSubject(), accessToken.getSubject())) {
+                    tokenRevocationService.revoke(refreshToken.getId(), refreshToken.getExpiresAt());
+                }
+            } catch (JwtException e) {
+                log.debug("Ignoring the invalid refresh token of {}: {}", accessToken.getSubject(), e.getMessage());
+            }
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private Jwt decodeRefreshToken(String token) {
+        try {
+            return refreshTokenDecoder.decode(token);
+        } catch (JwtException e) {
+            throw new BadCredentialsException("Invalid refresh token", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.mycompany.myapp.web.rest.vm;
+
+/**
+ * View Model object for returning the stock level of an inventario after a movement.
+ */
+public class StockLevelVM {
+
+    private Long id;
+
+    private Integer cantidadStock;
+
+    public StockLevelVM() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public StockLevelVM(Long id, Integer cantidadStock) {
+        this.id = id;
+        this.cantidadStock = cantidadStock;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getCantidadStock() {
+        return cantidadStock;
+    }
+
+    public void setCantidadStock(Integer cantidadStock) {
+        this.cantidadStock = cantidadStock;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockLevelVM{" +
+            "id=" + id +
+            ", cantidadStock=" + cantidadStock +
+            '}';
+    }
+}
@@ -0,0 +1,30 @@
+package com.mycompany.myapp.web.rest.vm;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * View Model object for storing the quantity of a stock increment or decrement.
+ */
+public class StockMovementVM {
+
+    @NotNull
+    @Min(1)
+    private Integer cantidad;
+
+    public Integer getCantidad() {
+        return cantidad;
+    }
+
+    public void setCantidad(Integer cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StockMovementVM{" +
+            "cantidad=" + cantidad +
+            '}';
+    }
+}
@@ -65,6 +65,42 @@ describe('Auth JWT', () => {
     });
   });
 
+  describe('Refresh', () => {
+    it('should store the refresh token of the login', () => {
+      // GIVEN
+      mockStorageService.storeRefreshToken = jest.fn();
+
+      // WHEN
+      service.login({ username: 'John', password: '123', rememberMe: false }).subscribe();
+      httpMock.expectOne('api/authenticate').flush({ id_token: '1', refresh_token: '2' });
+
+      // THEN
+      httpMock.verify();
+      expect(mockStorageService.storeRefreshToken).toHaveBeenCalledWith('2', false);
+    });
+
+    it('should exchange the refresh token once for concurrent callers', () => {
+      // GIVEN
+      mockStorageService.getRefreshToken = jest.fn(() => '2');
+      mockStorageService.isAuthenticationTokenRemembered = jest.fn(() => false);
+      mockStorageService.storeAuthenticationToken = jest.fn();
+      mockStorageService.storeRefreshToken = jest.fn();
+      const tokens: string[] = [];
+
+      // WHEN
+      service.refreshToken().subscribe(token => tokens.push(token));
+      service.refreshToken().subscribe(token => tokens.push(token));
+      const request = httpMock.expectOne('api/authenticate/refresh');
+      request.flush({ id_token: '3', refresh_token: '4' });
+
+      // THEN
+      httpMock.verify();
+      expect(request.request.body).toEqual({ refresh_token: '2' });
+      expect(tokens).toEqual(['3', '3']);
+      expect(mockStorageService.storeRefreshToken).toHaveBeenCalledWith('4', false);
+    });
+  });
+
   describe('Logout', () => {
     it('should clear storage', () => {
       // GIVEN
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
-import { map } from 'rxjs/operators';
+import { Observable, throwError } from 'rxjs';
+import { finalize, map, shareReplay } from 'rxjs/operators';
 
 import { Login } from 'app/login/login.model';
 import { ApplicationConfigService } from '../config/application-config.service';
@@ -9,10 +9,13 @@ import { StateStorageService } from './state-storage.service';
 
 type JwtToken = {
   id_token: string;
+  refresh_token?: string;
 };
 
 @Injectable({ providedIn: 'root' })
 export class AuthServerProvider {
+  private refreshing?: Observable<string>;
+
   constructor(
     private http: HttpClient,
     private stateStorageService: StateStorageService,
@@ -29,14 +32,53 @@ export class AuthServerProvider {
       .pipe(map(response => this.authenticateSuccess(response, credentials.rememberMe)));
   }
 
+  /**
+   * Exchanges the refresh token for new tokens, once for all the requests rejected meanwhile.
+   *
+   * @returns the new access token.
+   */
+  refreshToken(): Observable<string> {
+    if (!this.refreshing) {
+      const refreshToken = this.stateStorageService.getRefreshToken();
+      if (!refreshToken) {
+        return throwError(() => new Error('No refresh token'));
+      }
+      const rememberMe = this.stateStorageService.isAuthenticationTokenRemembered();
+      this.refreshing = this.http
+        .post<JwtToken>(this.applicationConfigService.getEndpointFor('api/authenticate/refresh'), { refresh_token: refreshToken })
+        .pipe(
+          map(response => {
+            this.authenticateSuccess(response, rememberMe);
+            return response.id_token;
+          }),
+          finalize(() => (this.refreshing = undefined)),
+          shareReplay(1),
+        );
+    }
+    return this.refreshing;
+  }
+
   logout(): Observable<void> {
     return new Observable(observer => {
+      const token = this.stateStorageService.getAuthenticationToken();
+      const refreshToken = this.stateStorageService.getRefreshToken();
       this.stateStorageService.clearAuthenticationToken();
+      if (token) {
+        // Best effort: the tokens are forgotten anyway, and expire by themselves
+        const body = refreshToken ? { refresh_token: refreshToken } : {};
+        const headers = { Authorization: `Bearer ${token}` };
+        this.http
+          .post(this.applicationConfigService.getEndpointFor('api/authenticate/revoke'), body, { headers })
+          .subscribe({ error: () => undefined });
+      }
       observer.complete();
     });
   }
 
   private authenticateSuccess(response: JwtToken, rememberMe: boolean): void {
     this.stateStorageService.storeAuthenticationToken(response.id_token, rememberMe);
+    if (response.refresh_token) {
+      this.stateStorageService.storeRefreshToken(response.refresh_token, rememberMe);
+    }
   }
 }
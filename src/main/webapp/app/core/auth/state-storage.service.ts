@@ -4,6 +4,7 @@ import { Injectable } from '@angular/core';
 export class StateStorageService {
   private previousUrlKey = 'previousUrl';
   private authenticationKey = 'jhi-authenticationToken';
+  private refreshTokenKey = 'jhi-refreshToken';
   private localeKey = 'locale';
 
   storeUrl(url: string): void {
@@ -34,9 +35,29 @@ export class StateStorageService {
     return authenticationToken ? (JSON.parse(authenticationToken) as string | null) : authenticationToken;
   }
 
+  isAuthenticationTokenRemembered(): boolean {
+    return localStorage.getItem(this.authenticationKey) !== null;
+  }
+
   clearAuthenticationToken(): void {
     sessionStorage.removeItem(this.authenticationKey);
     localStorage.removeItem(this.authenticationKey);
+    sessionStorage.removeItem(this.refreshTokenKey);
+    localStorage.removeItem(this.refreshTokenKey);
+  }
+
+  storeRefreshToken(refreshToken: string, rememberMe: boolean): void {
+    refreshToken = JSON.stringify(refreshToken);
+    if (rememberMe) {
+      localStorage.setItem(this.refreshTokenKey, refreshToken);
+    } else {
+      sessionStorage.setItem(this.refreshTokenKey, refreshToken);
+    }
+  }
+
+  getRefreshToken(): string | null {
+    const refreshToken = localStorage.getItem(this.refreshTokenKey) ?? sessionStorage.getItem(this.refreshTokenKey);
+    return refreshToken ? (JSON.parse(refreshToken) as string | null) : refreshToken;
   }
 
   storeLocale(locale: string): void {
@@ -1,12 +1,13 @@
 import { Injectable } from '@angular/core';
 import { HttpInterceptor, HttpRequest, HttpHandler, HttpEvent, HttpErrorResponse } from '@angular/common/http';
-import { Observable } from 'rxjs';
-import { tap } from 'rxjs/operators';
+import { Observable, throwError } from 'rxjs';
+import { catchError, switchMap } from 'rxjs/operators';
 import { Router } from '@angular/router';
 
 import { LoginService } from 'app/login/login.service';
 import { StateStorageService } from 'app/core/auth/state-storage.service';
 import { AccountService } from 'app/core/auth/account.service';
+import { AuthServerProvider } from 'app/core/auth/auth-jwt.service';
 
 @Injectable()
 export class AuthExpiredInterceptor implements HttpInterceptor {
@@ -15,19 +16,33 @@ export class AuthExpiredInterceptor implements HttpInterceptor {
     private stateStorageService: StateStorageService,
     private router: Router,
     private accountService: AccountService,
+    private authServerProvider: AuthServerProvider,
   ) {}
 
   intercept(request: HttpRequest<any>, next: HttpHandler): Observable<HttpEvent<any>> {
     return next.handle(request).pipe(
-      tap({
-        error: (err: HttpErrorResponse) => {
-          if (err.status === 401 && err.url && !err.url.includes('api/account') && this.accountService.isAuthenticated()) {
-            this.stateStorageService.storeUrl(this.router.routerState.snapshot.url);
-            this.loginService.logout();
-            this.router.navigate(['/login']);
-          }
-        },
+      catchError((err: HttpErrorResponse) => {
+        if (err.status === 401 && err.url && !err.url.includes('api/authenticate') && this.stateStorageService.getRefreshToken()) {
+          // The access token expired: retry once with a refreshed one
+          return this.authServerProvider.refreshToken().pipe(
+            catchError(() => {
+              this.authExpired(err);
+              return throwError(() => err);
+            }),
+            switchMap(token => next.handle(request.clone({ setHeaders: { Authorization: `Bearer ${token}` } }))),
+          );
+        }
+        this.authExpired(err);
+        return throwError(() => err);
       }),
     );
   }
+
+  private authExpired(err: HttpErrorResponse): void {
+    if (err.status === 401 && err.url && !err.url.includes('api/account') && this.accountService.isAuthenticated()) {
+      this.stateStorageService.storeUrl(this.router.routerState.snapshot.url);
+      this.loginService.logout();
+      this.router.navigate(['/login']);
+    }
+  }
 }
@@ -1,4 +1,4 @@
-import { ComponentFixture, TestBed } from '@angular/core/testing';
+import { ComponentFixture, TestBed, fakeAsync, tick } from '@angular/core/testing';
 import { HttpResponse } from '@angular/common/http';
 import { HttpClientTestingModule } from '@angular/common/http/testing';
 import { FormBuilder } from '@angular/forms';
@@ -12,7 +12,7 @@ import { InventarioService } from '../service/inventario.service';
 import { IInventario } from '../inventario.model';
 import { InventarioFormService } from './inventario-form.service';
 
-import { InventarioUpdateComponent } from './inventario-update.component';
+import { InventarioUpdateComponent, MEDICAMENTO_SEARCH_DEBOUNCE_MS, MEDICAMENTOS_PAGE_SIZE } from './inventario-update.component';
 
 describe('Inventario Management Update Component', () => {
   let comp: InventarioUpdateComponent;
@@ -62,10 +62,44 @@ describe('Inventario Management Update Component', () => {
       comp.ngOnInit();
 
       expect(medicamentoService.query).toHaveBeenCalled();
-      expect(medicamentoService.addMedicamentoToCollectionIfMissing).toHaveBeenCalledWith(medicamentoCollection, medicamento);
+      expect(medicamentoService.addMedicamentoToCollectionIfMissing).toHaveBeenCalledWith(medicamentoCollection, medicamento, medicamento);
       expect(comp.medicamentosCollection).toEqual(expectedCollection);
     });
 
+    it('Should query one page of medicamentos without inventario, then the ones matching the search', fakeAsync(() => {
+      const firstPage: IMedicamento[] = [{ id: 1, nombre: 'Aspirina' }];
+      const matching: IMedicamento[] = [{ id: 2, nombre: 'Ibuprofeno' }];
+      jest
+        .spyOn(medicamentoService, 'query')
+        .mockReturnValueOnce(of(new HttpResponse({ body: firstPage })))
+        .mockReturnValueOnce(of(new HttpResponse({ body: matching })));
+
+      activatedRoute.data = of({ inventario: null });
+      comp.ngOnInit();
+
+      expect(medicamentoService.query).toHaveBeenCalledTimes(1);
+      expect(medicamentoService.query).toHaveBeenLastCalledWith({
+        filter: 'inventario-is-null',
+        page: 0,
+        size: MEDICAMENTOS_PAGE_SIZE,
+        sort: ['nombre,asc'],
+      });
+      expect(comp.medicamentosCollection).toEqual(firstPage);
+
+      comp.searchMedicamentos('I');
+      comp.searchMedicamentos('Ibu ');
+      tick(MEDICAMENTO_SEARCH_DEBOUNCE_MS);
+
+      expect(medicamentoService.query).toHaveBeenCalledTimes(2);
+      expect(medicamentoService.query).toHaveBeenLastCalledWith({
+        filter: 'inventario-is-null',
+        nombre: 'Ibu',
+        size: MEDICAMENTOS_PAGE_SIZE,
+        sort: ['nombre,asc'],
+      });
+      expect(comp.medicamentosCollection).toEqual(matching);
+    }));
+
     it('Should update editForm', () => {
       const inventario: IInventario = { id: 456 };
       const medicamento: IMedicamento = { id: 19517 };
@@ -1,8 +1,8 @@
 import { Component, OnInit } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { ActivatedRoute } from '@angular/router';
-import { Observable } from 'rxjs';
-import { finalize, map } from 'rxjs/operators';
+import { Observable, Subject } from 'rxjs';
+import { debounceTime, distinctUntilChanged, finalize, map, startWith, switchMap } from 'rxjs/operators';
 
 import SharedModule from 'app/shared/shared.module';
 import { FormsModule, ReactiveFormsModule } from '@angular/forms';
@@ -13,6 +13,16 @@ import { IInventario } from '../inventario.model';
 import { InventarioService } from '../service/inventario.service';
 import { InventarioFormService, InventarioFormGroup } from './inventario-form.service';
 
+/**
+ * Number of medicamentos without inventario offered at once: the options are narrowed down by searching their name.
+ */
+export const MEDICAMENTOS_PAGE_SIZE = 20;
+
+/**
+ * Delay after the last keystroke before the medicamentos matching the search are queried.
+ */
+export const MEDICAMENTO_SEARCH_DEBOUNCE_MS = 300;
+
 @Component({
   standalone: true,
   selector: 'jhi-inventario-update',
@@ -25,6 +35,8 @@ export class InventarioUpdateComponent implements OnInit {
 
   medicamentosCollection: IMedicamento[] = [];
 
+  protected medicamentoSearch = new Subject<string>();
+
   editForm: InventarioFormGroup = this.inventarioFormService.createInventarioFormGroup();
 
   constructor(
@@ -47,6 +59,10 @@ export class InventarioUpdateComponent implements OnInit {
     });
   }
 
+  searchMedicamentos(nombre: string): void {
+    this.medicamentoSearch.next(nombre.trim());
+  }
+
   previousState(): void {
     window.history.back();
   }
@@ -91,14 +107,32 @@ export class InventarioUpdateComponent implements OnInit {
   }
 
   protected loadRelationshipsOptions(): void {
-    this.medicamentoService
-      .query({ filter: 'inventario-is-null' })
-      .pipe(map((res: HttpResponse<IMedicamento[]>) => res.body ?? []))
+    this.medicamentoSearch
       .pipe(
+        debounceTime(MEDICAMENTO_SEARCH_DEBOUNCE_MS),
+        startWith(''),
+        distinctUntilChanged(),
+        switchMap((nombre: string) => this.queryMedicamentosWithoutInventario(nombre)),
         map((medicamentos: IMedicamento[]) =>
-          this.medicamentoService.addMedicamentoToCollectionIfMissing<IMedicamento>(medicamentos, this.inventario?.medicamento),
+          // The selected medicamento stays an option whatever the search
+          this.medicamentoService.addMedicamentoToCollectionIfMissing<IMedicamento>(
+            medicamentos,
+            this.editForm.get('medicamento')!.value,
+            this.inventario?.medicamento,
+          ),
         ),
       )
       .subscribe((medicamentos: IMedicamento[]) => (this.medicamentosCollection = medicamentos));
   }
+
+  /**
+   * One page of the medicamentos without inventario whose name starts with the search, or the first page without search:
+   * the filtering is done by the server, the catalog is never downloaded.
+   */
+  protected queryMedicamentosWithoutInventario(nombre: string): Observable<IMedicamento[]> {
+    const req = nombre
+      ? { filter: 'inventario-is-null', nombre, size: MEDICAMENTOS_PAGE_SIZE, sort: ['nombre,asc'] }
+      : { filter: 'inventario-is-null', page: 0, size: MEDICAMENTOS_PAGE_SIZE, sort: ['nombre,asc'] };
+    return this.medicamentoService.query(req).pipe(map((res: HttpResponse<IMedicamento[]>) => res.body ?? []));
+  }
 }
@@ -5,6 +5,7 @@ import { Observable } from 'rxjs';
 import { isPresent } from 'app/core/util/operators';
 import { ApplicationConfigService } from 'app/core/config/application-config.service';
 import { createRequestOption } from 'app/core/request/request-util';
+import { SearchWithPagination } from 'app/core/request/request.model';
 import { IMedicamento, NewMedicamento } from '../medicamento.model';
 
 export type PartialUpdateMedicamento = Partial<IMedicamento> & Pick<IMedicamento, 'id'>;
@@ -15,6 +16,7 @@ export type EntityArrayResponseType = HttpResponse<IMedicamento[]>;
 @Injectable({ providedIn: 'root' })
 export class MedicamentoService {
   protected resourceUrl = this.applicationConfigService.getEndpointFor('api/medicamentos');
+  protected resourceSearchUrl = this.applicationConfigService.getEndpointFor('api/_search/medicamentos');
 
   constructor(
     protected http: HttpClient,
@@ -46,6 +48,12 @@ export class MedicamentoService {
     return this.http.get<IMedicamento[]>(this.resourceUrl, { params: options, observe: 'response' });
   }
 
+  search(req: SearchWithPagination): Observable<EntityArrayResponseType> {
+    const { query, ...pagination } = req;
+    const options = createRequestOption({ ...pagination, q: query });
+    return this.http.get<IMedicamento[]>(this.resourceSearchUrl, { params: options, observe: 'response' });
+  }
+
   delete(id: number): Observable<HttpResponse<{}>> {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
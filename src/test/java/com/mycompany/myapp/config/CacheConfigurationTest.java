@@ -0,0 +1,142 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.domain.Medicamento;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the per-region settings of {@link CacheConfiguration}.
+ */
+class CacheConfigurationTest {
+
+    private final JHipsterProperties jHipsterProperties = new JHipsterProperties();
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    @TempDir
+    private Path diskPath;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+    }
+
+    @Test
+    void regionWithoutSettingsShouldUseTheJHipsterDefaults() {
+        org.ehcache.config.CacheConfiguration<?, ?> configuration = ehcacheConfiguration("other");
+
+        assertThat(configuration.getKeyType()).isEqualTo(Object.class);
+        assertThat(configuration.getResourcePools().getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertThat(configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(expiryForCreation(configuration)).isEqualTo(Duration.ofHours(1));
+        assertThat(expiryForAccess(configuration)).as("Unchanged on access").isNull();
+    }
+
+    @Test
+    void regionShouldHaveItsOwnTiersAndExpiry() {
+        ApplicationProperties.Cache.Region catalog = region("catalog");
+        catalog.setHeapEntries(10);
+        catalog.setOffHeap(DataSize.ofMegabytes(16));
+        catalog.setDisk(DataSize.ofMegabytes(32));
+        catalog.setTimeToIdle(Duration.ofMinutes(30));
+        region("stock").setTimeToLive(Duration.ofMinutes(1));
+
+        org.ehcache.config.CacheConfiguration<?, ?> configuration = ehcacheConfiguration("catalog");
+        ResourcePools resourcePools = configuration.getResourcePools();
+        assertThat(configuration.getKeyType()).as("Serialized beyond the heap").isEqualTo(java.io.Serializable.class);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(16);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.MB);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(32);
+        assertThat(expiryForAccess(configuration)).isEqualTo(Duration.ofMinutes(30));
+
+        org.ehcache.config.CacheConfiguration<?, ?> stock = ehcacheConfiguration("stock");
+        assertThat(stock.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(expiryForCreation(stock)).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void regionWithBothExpiriesShouldBeRejected() {
+        ApplicationProperties.Cache.Region region = region("invalid");
+        region.setTimeToLive(Duration.ofMinutes(1));
+        region.setTimeToIdle(Duration.ofMinutes(1));
+
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+        assertThatThrownBy(() -> cacheConfiguration.jcacheConfiguration("invalid")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cacheManagerShouldStoreEntriesBeyondTheHeap() {
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+        ApplicationProperties.Cache.Region region = region(Medicamento.class.getName());
+        region.setHeapEntries(1);
+        region.setOffHeap(DataSize.ofMegabytes(1));
+        region.setDisk(DataSize.ofMegabytes(2));
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+        JCacheManagerCustomizer customizer = cacheConfiguration.cacheManagerCustomizer();
+
+        try (javax.cache.CacheManager cacheManager = cacheConfiguration.jCacheCacheManager(customizers(customizer))) {
+            javax.cache.Cache<Object, Object> cache = cacheManager.getCache(Medicamento.class.getName());
+            for (long id = 1; id <= 100; id++) {
+                cache.put(id, medicamento(id));
+            }
+
+            assertThat(cache.get(1L)).isInstanceOf(Medicamento.class).extracting("nombre").isEqualTo("Medicamento 1");
+            assertThat(cache.get(100L)).extracting("nombre").isEqualTo("Medicamento 100");
+            assertThat(diskPath).isNotEmptyDirectory();
+        }
+    }
+
+    private ApplicationProperties.Cache.Region region(String cacheName) {
+        return applicationProperties.getCache().getRegions().computeIfAbsent(cacheName, name -> new ApplicationProperties.Cache.Region());
+    }
+
+    private org.ehcache.config.CacheConfiguration<?, ?> ehcacheConfiguration(String cacheName) {
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+        JCacheManagerCustomizer customizer = cm -> cm.createCache(cacheName, cacheConfiguration.jcacheConfiguration(cacheName));
+        try (javax.cache.CacheManager cacheManager = cacheConfiguration.jCacheCacheManager(customizers(customizer))) {
+            org.ehcache.Cache<?, ?> cache = cacheManager.getCache(cacheName).unwrap(org.ehcache.Cache.class);
+            return cache.getRuntimeConfiguration();
+        }
+    }
+
+    private static ObjectProvider<JCacheManagerCustomizer> customizers(JCacheManagerCustomizer customizer) {
+        return new StaticListableBeanFactory(Map.of("cacheManagerCustomizer", customizer)).getBeanProvider(JCacheManagerCustomizer.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Duration expiryForCreation(org.ehcache.config.CacheConfiguration<?, ?> configuration) {
+        return ((ExpiryPolicy<Object, Object>) configuration.getExpiryPolicy()).getExpiryForCreation("key", "value");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Duration expiryForAccess(org.ehcache.config.CacheConfiguration<?, ?> configuration) {
+        return ((ExpiryPolicy<Object, Object>) configuration.getExpiryPolicy()).getExpiryForAccess("key", () -> "value");
+    }
+
+    private static Medicamento medicamento(long id) {
+        Medicamento medicamento = new Medicamento();
+        medicamento.setId(id);
+        medicamento.setNombre("Medicamento " + id);
+        medicamento.setPrecio(10.0 * id);
+        return medicamento;
+    }
+}
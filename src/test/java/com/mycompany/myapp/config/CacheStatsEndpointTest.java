@@ -0,0 +1,123 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.file.Path;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for {@link CacheStatsEndpoint} and {@link SamplingStatistics}.
+ */
+class CacheStatsEndpointTest {
+
+    private static final String CACHE = "com.mycompany.myapp.domain.Medicamento";
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    @TempDir
+    private Path diskPath;
+
+    private javax.cache.CacheManager cacheManager;
+
+    private StatisticsImplementor statistics;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void statsShouldCountTheHitsMissesAndPutsOfEachCache() {
+        CacheStatsEndpoint endpoint = newEndpoint(1.0);
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(CACHE);
+        cache.put(1L, "aspirina");
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(2L);
+
+        CacheStatsEndpoint.RegionStats region = endpoint.stats().regions().get(CACHE);
+        assertThat(region.hits()).isEqualTo(2);
+        assertThat(region.misses()).isEqualTo(1);
+        assertThat(region.puts()).isEqualTo(1);
+        assertThat(region.evictions()).isZero();
+
+        endpoint.reset();
+        assertThat(endpoint.stats().regions().get(CACHE).hits()).isZero();
+    }
+
+    @Test
+    void cachesWithoutStatisticsShouldNotBeListed() {
+        applicationProperties.getCache().getStatistics().setEnabled(false);
+        CacheStatsEndpoint endpoint = newEndpoint(1.0);
+
+        assertThat(endpoint.stats().regions()).isEmpty();
+    }
+
+    @Test
+    void statsShouldListTheQueriesSlowestFirst() {
+        CacheStatsEndpoint endpoint = newEndpoint(1.0);
+        statistics.queryExecuted("select fast", 1, 2);
+        statistics.queryExecuted("select slow", 10, 50);
+        statistics.queryExecuted("select slow", 20, 30);
+
+        CacheStatsEndpoint.CacheStatsDescriptor stats = endpoint.stats();
+        assertThat(stats.queries()).containsOnlyKeys("select slow", "select fast");
+        assertThat(stats.queries().keySet()).first().isEqualTo("select slow");
+        CacheStatsEndpoint.QueryStats slow = stats.queries().get("select slow");
+        assertThat(slow.name()).isEqualTo(HibernateQueryMetrics.queryName("select slow"));
+        assertThat(slow.executions()).isEqualTo(2);
+        assertThat(slow.rows()).isEqualTo(30);
+        assertThat(slow.totalMillis()).isEqualTo(80);
+        assertThat(slow.maxMillis()).isEqualTo(50);
+    }
+
+    @Test
+    void samplingStatisticsShouldRecordASampleOfTheQueries() {
+        CacheStatsEndpoint endpoint = newEndpoint(0.1);
+        for (int i = 0; i < 10_000; i++) {
+            statistics.queryExecuted("select sampled", 1, 1);
+        }
+
+        assertThat(endpoint.stats().querySampleRate()).isEqualTo(0.1);
+        assertThat(endpoint.stats().queries().get("select sampled").executions()).isBetween(800L, 1200L);
+    }
+
+    private CacheStatsEndpoint newEndpoint(double querySampleRate) {
+        applicationProperties.getCache().getStatistics().setQuerySampleRate(querySampleRate);
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(new JHipsterProperties(), applicationProperties);
+        JCacheManagerCustomizer customizer = cacheConfiguration.cacheManagerCustomizer();
+        cacheManager =
+            cacheConfiguration.jCacheCacheManager(
+                new StaticListableBeanFactory(Map.of("cacheManagerCustomizer", customizer)).getBeanProvider(JCacheManagerCustomizer.class)
+            );
+
+        SessionFactoryImplementor sessionFactory = Mockito.mock(SessionFactoryImplementor.class, Answers.RETURNS_DEEP_STUBS);
+        when(sessionFactory.getSessionFactoryOptions().getQueryStatisticsMaxSize()).thenReturn(100);
+        statistics = SamplingStatistics.factory(querySampleRate).buildStatistics(sessionFactory);
+        statistics.setStatisticsEnabled(true);
+        SessionFactory unwrapped = Mockito.mock(SessionFactory.class);
+        when(unwrapped.getStatistics()).thenReturn(statistics);
+        EntityManagerFactory entityManagerFactory = Mockito.mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(unwrapped);
+        return new CacheStatsEndpoint(cacheManager, entityManagerFactory, applicationProperties);
+    }
+}
@@ -0,0 +1,76 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+
+/**
+ * Unit tests for {@link HibernateQueryMetrics}.
+ */
+class HibernateQueryMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StatisticsImplementor statistics;
+
+    private HibernateQueryMetrics hibernateQueryMetrics;
+
+    @BeforeEach
+    public void setup() {
+        SessionFactoryImplementor sessionFactory = Mockito.mock(SessionFactoryImplementor.class, Answers.RETURNS_DEEP_STUBS);
+        when(sessionFactory.getSessionFactoryOptions().getQueryStatisticsMaxSize()).thenReturn(1000);
+        statistics = SamplingStatistics.factory(1.0).buildStatistics(sessionFactory);
+        statistics.setStatisticsEnabled(true);
+        SessionFactory unwrapped = Mockito.mock(SessionFactory.class);
+        when(unwrapped.getStatistics()).thenReturn(statistics);
+        EntityManagerFactory entityManagerFactory = Mockito.mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(unwrapped);
+        hibernateQueryMetrics = new HibernateQueryMetrics(entityManagerFactory, meterRegistry);
+        hibernateQueryMetrics.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void queryNameShouldBeTheStatementTheEntityAndAHash() {
+        String query = "select medicamento from com.mycompany.myapp.domain.Medicamento medicamento where medicamento.id > :id";
+
+        assertThat(HibernateQueryMetrics.queryName(query)).isEqualTo("select Medicamento " + String.format("%08x", query.hashCode()));
+        assertThat(HibernateQueryMetrics.queryName("update Inventario inventario set inventario.cantidadStock = 0"))
+            .startsWith("update Inventario ");
+        assertThat(HibernateQueryMetrics.queryName("[CRITERIA] select m1_0.id from medicamento m1_0 where m1_0.id>?"))
+            .startsWith("select medicamento ");
+    }
+
+    @Test
+    void registerNewQueriesShouldTagTheMetersWithTheQueryName() {
+        String query = "select count(medicamento) from Medicamento medicamento where medicamento.nombre = 'aspirina'";
+        statistics.queryExecuted(query, 1, 5);
+
+        hibernateQueryMetrics.registerNewQueries();
+
+        assertThat(meterRegistry.get("hibernate.query.executions").tag("query", HibernateQueryMetrics.queryName(query)).functionTimer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.find("hibernate.query.executions").tag("query", query).functionTimer()).isNull();
+    }
+
+    @Test
+    void registerNewQueriesShouldMeterABoundedNumberOfQueries() {
+        for (int i = 0; i < HibernateQueryMetrics.MAX_METERED_QUERIES + 10; i++) {
+            statistics.queryExecuted("select medicamento from Medicamento medicamento where medicamento.id = " + i, 1, 1);
+        }
+
+        hibernateQueryMetrics.registerNewQueries();
+        hibernateQueryMetrics.registerNewQueries();
+
+        assertThat(meterRegistry.find("hibernate.query.executions").functionTimers()).hasSize(HibernateQueryMetrics.MAX_METERED_QUERIES);
+    }
+}
@@ -0,0 +1,35 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link VirtualThreads}.
+ */
+class VirtualThreadsTest {
+
+    @Test
+    void taskExecutorShouldRunTasksOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isAvailable(), "Virtual threads need Java 21 or later");
+
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+        VirtualThreads.taskExecutor("test-").execute(() -> thread.complete(Thread.currentThread()));
+
+        assertThat(thread.get().getName()).isEqualTo("test-0");
+        assertThat(thread.get().getClass().getSimpleName()).isEqualTo("VirtualThread");
+    }
+
+    @Test
+    void threadFactoryShouldFailWithoutVirtualThreads() {
+        assumeFalse(VirtualThreads.isAvailable(), "Virtual threads are available");
+
+        assertThatThrownBy(() -> VirtualThreads.threadFactory("test-"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining(Constants.SPRING_PROFILE_VIRTUAL_THREADS);
+    }
+}
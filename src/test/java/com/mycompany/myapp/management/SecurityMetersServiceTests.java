@@ -6,6 +6,7 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -13,6 +14,10 @@ class SecurityMetersServiceTests {
 
     private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
 
+    private static final String TOKEN_DECODE_METER_EXPECTED_NAME = "security.authentication.token-decode";
+
+    private static final String RATE_LIMITED_LOGINS_METER_EXPECTED_NAME = "security.authentication.rate-limited-logins";
+
     private MeterRegistry meterRegistry;
 
     private SecurityMetersService securityMetersService;
@@ -36,9 +41,11 @@ class SecurityMetersServiceTests {
 
         meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter();
 
+        meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "revoked").counter();
+
         Collection<Counter> counters = meterRegistry.find(INVALID_TOKENS_METER_EXPECTED_NAME).counters();
 
-        assertThat(counters).hasSize(4);
+        assertThat(counters).hasSize(5);
     }
 
     @Test
@@ -66,5 +73,33 @@ class SecurityMetersServiceTests {
         securityMetersService.trackTokenMalformed();
 
         assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(1);
+
+        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "revoked").counter().count()).isZero();
+
+        securityMetersService.trackTokenRevoked();
+
+        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "revoked").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRateLimitedLoginsCountersAreBoundByLimit() {
+        securityMetersService.trackLoginRateLimitedByAddress();
+        securityMetersService.trackLoginRateLimitedByLogin();
+        securityMetersService.trackLoginRateLimitedByLogin();
+
+        assertThat(meterRegistry.get(RATE_LIMITED_LOGINS_METER_EXPECTED_NAME).tag("limit", "address").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RATE_LIMITED_LOGINS_METER_EXPECTED_NAME).tag("limit", "login").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testTrackMethodsShouldBeBoundToCorrectTimers() {
+        securityMetersService.trackValidTokenDecode(TimeUnit.MICROSECONDS.toNanos(10));
+        securityMetersService.trackInvalidTokenDecode(TimeUnit.MICROSECONDS.toNanos(20));
+        securityMetersService.trackInvalidTokenDecode(TimeUnit.MICROSECONDS.toNanos(30));
+
+        assertThat(meterRegistry.get(TOKEN_DECODE_METER_EXPECTED_NAME).tag("outcome", "valid").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TOKEN_DECODE_METER_EXPECTED_NAME).tag("outcome", "invalid").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(TOKEN_DECODE_METER_EXPECTED_NAME).tag("outcome", "invalid").timer().totalTime(TimeUnit.MICROSECONDS))
+            .isEqualTo(50);
     }
 }
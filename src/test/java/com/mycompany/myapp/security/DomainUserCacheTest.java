@@ -0,0 +1,40 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Unit tests for {@link DomainUserCache} and {@link GrantedAuthorities}.
+ */
+class DomainUserCacheTest {
+
+    private DomainUserCache userCache;
+
+    @BeforeEach
+    public void init() {
+        userCache = new DomainUserCache(new ConcurrentMapCache(DomainUserCache.USER_DETAILS_CACHE));
+    }
+
+    @Test
+    void usersShouldBeCachedByLowerCasedLogin() {
+        UserDetails user = User.withUsername("john").password("hash").authorities(AuthoritiesConstants.USER).build();
+        userCache.putUserInCache(user);
+
+        assertThat(userCache.getUserFromCache("John")).isSameAs(user);
+
+        userCache.removeUserFromCache("JOHN");
+        assertThat(userCache.getUserFromCache("john")).isNull();
+    }
+
+    @Test
+    void grantedAuthoritiesShouldBeCanonical() {
+        assertThat(GrantedAuthorities.of(AuthoritiesConstants.ADMIN)).isSameAs(GrantedAuthorities.of(AuthoritiesConstants.ADMIN));
+        assertThat(GrantedAuthorities.of("ROLE_CUSTOM").getAuthority()).isEqualTo("ROLE_CUSTOM");
+        assertThat(GrantedAuthorities.of("ROLE_CUSTOM")).isSameAs(GrantedAuthorities.of("ROLE_CUSTOM"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TokenBuckets}.
+ */
+class TokenBucketsTest {
+
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+
+    @Test
+    void tryConsumeShouldAllowABurstThenTheRefillRate() {
+        TokenBuckets buckets = new TokenBuckets(5, Duration.ofMinutes(1), 10, nanoTime::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(buckets.tryConsume("user")).isZero();
+        }
+        assertThat(buckets.tryConsume("user")).isEqualTo(TimeUnit.SECONDS.toNanos(12));
+        assertThat(buckets.tryConsume("admin")).isZero();
+
+        advance(Duration.ofSeconds(11));
+        assertThat(buckets.tryConsume("user")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        advance(Duration.ofSeconds(1));
+        assertThat(buckets.tryConsume("user")).isZero();
+        assertThat(buckets.tryConsume("user")).isPositive();
+    }
+
+    @Test
+    void evictFullBucketsShouldOnlyDropTheBucketsFullAgain() {
+        TokenBuckets buckets = new TokenBuckets(5, Duration.ofMinutes(1), 10, nanoTime::get);
+        buckets.tryConsume("user");
+        for (int i = 0; i < 5; i++) {
+            buckets.tryConsume("admin");
+        }
+
+        advance(Duration.ofSeconds(12));
+        buckets.evictFullBuckets();
+
+        assertThat(buckets.size()).isEqualTo(1);
+        assertThat(buckets.tryConsume("admin")).isZero();
+        assertThat(buckets.tryConsume("admin")).isPositive();
+    }
+
+    @Test
+    void tryConsumeShouldEvictTheBucketNearestToFullWhenFull() {
+        TokenBuckets buckets = new TokenBuckets(5, Duration.ofMinutes(1), 2, nanoTime::get);
+        for (int i = 0; i < 5; i++) {
+            buckets.tryConsume("attacked");
+        }
+        buckets.tryConsume("idle");
+
+        assertThat(buckets.tryConsume("new")).isZero();
+        assertThat(buckets.size()).isEqualTo(2);
+        assertThat(buckets.tryConsume("attacked")).isPositive();
+        for (int i = 0; i < 4; i++) {
+            assertThat(buckets.tryConsume("new")).isZero();
+        }
+        assertThat(buckets.tryConsume("new")).isPositive();
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,152 @@
+package com.mycompany.myapp.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Unit tests for {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    private final AtomicInteger decodeCount = new AtomicInteger();
+
+    private MutableClock clock;
+
+    private JwtDecoder delegate;
+
+    @BeforeEach
+    public void init() {
+        clock = new MutableClock();
+        decodeCount.set(0);
+        // The tokens are "<subject>" or "<subject>:<seconds before expiration>", "invalid" is rejected
+        delegate =
+            token -> {
+                decodeCount.incrementAndGet();
+                if (token.equals("invalid")) {
+                    throw new BadJwtException("Invalid signature");
+                }
+                String[] parts = token.split(":");
+                Jwt.Builder jwt = Jwt.withTokenValue(token).header("alg", "HS512").subject(parts[0]).issuedAt(NOW);
+                if (parts.length > 1) {
+                    jwt.expiresAt(NOW.plusSeconds(Long.parseLong(parts[1])));
+                }
+                return jwt.build();
+            };
+    }
+
+    @Test
+    void decodeShouldReuseTheJwtUntilItExpires() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Duration.ofHours(1), clock);
+
+        Jwt jwt = decoder.decode("user:60");
+        assertThat(decoder.decode("user:60")).isSameAs(jwt);
+        assertThat(decodeCount).hasValue(1);
+
+        clock.advance(Duration.ofSeconds(60));
+        assertThat(decoder.decode("user:60")).isNotSameAs(jwt);
+        assertThat(decodeCount).hasValue(2);
+    }
+
+    @Test
+    void decodeShouldReuseTheJwtForTheTimeToLiveAtMost() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Duration.ofSeconds(30), clock);
+
+        decoder.decode("user:3600");
+        clock.advance(Duration.ofSeconds(29));
+        decoder.decode("user:3600");
+        assertThat(decodeCount).hasValue(1);
+
+        clock.advance(Duration.ofSeconds(1));
+        decoder.decode("user:3600");
+        assertThat(decodeCount).hasValue(2);
+    }
+
+    @Test
+    void decodeShouldNotCacheRejectedTokens() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Duration.ofHours(1), clock);
+
+        assertThatThrownBy(() -> decoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+        assertThat(decodeCount).hasValue(2);
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void decodeShouldStayBoundedAndPurgeExpiredTokensFirst() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Duration.ofHours(1), clock);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new CachingJwtDecoder.Metrics(decoder).bindTo(meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            decoder.decode("short-lived-" + i + ":10");
+        }
+        for (int i = 0; i < 5; i++) {
+            decoder.decode("long-lived-" + i + ":3600");
+        }
+        clock.advance(Duration.ofSeconds(10));
+        decoder.decode("user:3600");
+
+        assertThat(decoder.size()).isEqualTo(6);
+        assertThat(meterRegistry.get("cache.expirations").functionCounter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("cache.evictions").functionCounter().count()).isZero();
+
+        for (int i = 0; i < 10; i++) {
+            decoder.decode("other-" + i + ":3600");
+        }
+        assertThat(decoder.size()).isLessThanOrEqualTo(10);
+        assertThat(meterRegistry.get("cache.evictions").functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(decoder.size());
+        assertThat(meterRegistry.get("cache.puts").functionCounter().count()).isEqualTo(21);
+    }
+
+    @Test
+    void invalidateAllShouldDropAllTokens() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Duration.ofHours(1), clock);
+        decoder.decode("user:60");
+
+        decoder.invalidateAll();
+        decoder.decode("user:60");
+
+        assertThat(decodeCount).hasValue(2);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = NOW;
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.mycompany.myapp.security.jwt;
 import static com.mycompany.myapp.security.SecurityUtils.AUTHORITIES_KEY;
 import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
 
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.JwtKeyRepository;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -12,6 +15,7 @@ import java.util.Collections;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
+import org.mockito.Mockito;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.codec.Hex;
 import org.springframework.security.oauth2.jwt.JwsHeader;
@@ -35,6 +39,16 @@ public class JwtAuthenticationTestUtils {
         return new SimpleMeterRegistry();
     }
 
+    @Bean
+    private TokenRevocationService tokenRevocationService(ApplicationProperties applicationProperties) {
+        return new TokenRevocationService(Mockito.mock(RevokedTokenRepository.class), applicationProperties);
+    }
+
+    @Bean
+    private JwtKeyRepository jwtKeyRepository() {
+        return Mockito.mock(JwtKeyRepository.class);
+    }
+
     public static String createValidToken(String jwtKey) {
         return createValidTokenForUser(jwtKey, "anonymous");
     }
@@ -0,0 +1,51 @@
+package com.mycompany.myapp.security.jwt;
+
+import static com.mycompany.myapp.security.SecurityUtils.AUTHORITIES_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.GrantedAuthorities;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Unit tests for {@link JwtAuthoritiesConverter}.
+ */
+class JwtAuthoritiesConverterTest {
+
+    private final JwtAuthoritiesConverter converter = new JwtAuthoritiesConverter();
+
+    @Test
+    void convertShouldReuseTheCanonicalAuthoritiesOfAClaim() {
+        Collection<GrantedAuthority> authorities = converter.convert(jwt(AuthoritiesConstants.ADMIN + " " + AuthoritiesConstants.USER));
+
+        assertThat(authorities)
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER);
+        assertThat(authorities.iterator().next()).isSameAs(GrantedAuthorities.of(AuthoritiesConstants.ADMIN));
+        assertThat(converter.convert(jwt(AuthoritiesConstants.ADMIN + " " + AuthoritiesConstants.USER))).isSameAs(authorities);
+    }
+
+    @Test
+    void convertShouldAcceptListsAndMissingOrEmptyClaims() {
+        assertThat(converter.convert(jwt(List.of(AuthoritiesConstants.USER)))).containsExactly(GrantedAuthorities.of(AuthoritiesConstants.USER));
+        assertThat(converter.convert(jwt(""))).isEmpty();
+        assertThat(converter.convert(jwt("  " + AuthoritiesConstants.USER + "  "))).containsExactly(GrantedAuthorities.of(AuthoritiesConstants.USER));
+        assertThat(converter.convert(Jwt.withTokenValue("token").header("alg", "HS512").subject("user").build())).isEmpty();
+    }
+
+    @Test
+    void convertShouldStayBounded() {
+        for (int i = 0; i < 2 * JwtAuthoritiesConverter.MAX_CACHED_CLAIMS; i++) {
+            assertThat(converter.convert(jwt("ROLE_" + i))).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_" + i);
+        }
+        assertThat(converter.cachedClaimCount()).isEqualTo(JwtAuthoritiesConverter.MAX_CACHED_CLAIMS);
+    }
+
+    private static Jwt jwt(Object authorities) {
+        return Jwt.withTokenValue("token").header("alg", "HS512").subject("user").claim(AUTHORITIES_KEY, authorities).build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.mycompany.myapp.security.jwt;
+
+import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.JwtKey;
+import com.mycompany.myapp.repository.JwtKeyRepository;
+import com.nimbusds.jose.util.Base64;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Unit tests for {@link JwtKeyRing}.
+ */
+class JwtKeyRingTest {
+
+    private static final String JWT_KEY =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    private final List<JwtKey> storedKeys = new ArrayList<>();
+
+    private JwtKeyRepository jwtKeyRepository;
+
+    private SecretKeySpec configuredKey;
+
+    private JwtKeyRing jwtKeyRing;
+
+    private JwtEncoder jwtEncoder;
+
+    private VerifyingJwtDecoder jwtDecoder;
+
+    @BeforeEach
+    public void init() {
+        jwtKeyRepository = Mockito.mock(JwtKeyRepository.class);
+        when(jwtKeyRepository.findAllByOrderByCreatedDateAsc()).thenAnswer(invocation -> List.copyOf(storedKeys));
+        when(jwtKeyRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            storedKeys.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(jwtKeyRepository.existsById(anyString()))
+            .thenAnswer(invocation -> storedKeys.stream().anyMatch(key -> key.getKid().equals(invocation.getArgument(0))));
+        doAnswer(invocation -> storedKeys.removeIf(key -> key.getKid().equals(invocation.getArgument(0))))
+            .when(jwtKeyRepository)
+            .deleteById(anyString());
+
+        byte[] keyBytes = Base64.from(JWT_KEY).decode();
+        configuredKey = new SecretKeySpec(keyBytes, JWT_ALGORITHM.getName());
+        jwtKeyRing = new JwtKeyRing(configuredKey, JWT_ALGORITHM, jwtKeyRepository);
+        jwtKeyRing.afterSingletonsInstantiated();
+        jwtEncoder = new NimbusJwtEncoder((jwkSelector, context) -> jwkSelector.select(jwtKeyRing.signingKeySet()));
+        jwtDecoder = new VerifyingJwtDecoder(jwtKeyRing::verifier, JWT_ALGORITHM, new JwtTimestampsValidator());
+    }
+
+    @Test
+    void rotateShouldSignWithTheNewKeyAndKeepVerifyingTheOldOnes() {
+        String configuredKid = jwtKeyRing.getSigningKid();
+        String tokenOfConfiguredKey = createToken();
+        String tokenWithoutKid = JwtAuthenticationTestUtils.createValidToken(JWT_KEY);
+
+        JwtKeyRing.KeyDescriptor rotated = jwtKeyRing.rotate();
+        String tokenOfRotatedKey = createToken();
+
+        assertThat(rotated.kid()).isNotEqualTo(configuredKid);
+        assertThat(jwtKeyRing.getSigningKid()).isEqualTo(rotated.kid());
+        assertThat(jwtKeyRing.describe())
+            .extracting(JwtKeyRing.KeyDescriptor::kid, JwtKeyRing.KeyDescriptor::signing)
+            .containsExactly(tuple(configuredKid, false), tuple(rotated.kid(), true));
+        assertThat(jwtDecoder.decode(tokenOfConfiguredKey).getHeaders()).containsEntry("kid", configuredKid);
+        assertThat(jwtDecoder.decode(tokenOfRotatedKey).getHeaders()).containsEntry("kid", rotated.kid());
+        assertThat(jwtDecoder.decode(tokenWithoutKid).getSubject()).isEqualTo("anonymous");
+    }
+
+    @Test
+    void retireShouldRejectTheTokensOfTheKey() {
+        AtomicInteger retirements = new AtomicInteger();
+        jwtKeyRing.setKeysRetiredListener(retirements::incrementAndGet);
+        String configuredKid = jwtKeyRing.getSigningKid();
+        String retiredKid = jwtKeyRing.rotate().kid();
+        String tokenOfRetiredKey = createToken();
+        String signingKid = jwtKeyRing.rotate().kid();
+
+        assertThat(jwtKeyRing.retire(retiredKid)).isTrue();
+
+        assertThat(retirements).hasValue(1);
+        assertThatThrownBy(() -> jwtDecoder.decode(tokenOfRetiredKey))
+            .isInstanceOfSatisfying(InvalidJwtException.class, e -> assertThat(e.getFailure()).isEqualTo(JwtFailure.INVALID_SIGNATURE));
+        assertThat(jwtKeyRing.retire(retiredKid)).isFalse();
+        assertThatThrownBy(() -> jwtKeyRing.retire(signingKid)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jwtKeyRing.retire(configuredKid)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(jwtDecoder.decode(createToken()).getHeaders()).containsEntry("kid", signingKid);
+    }
+
+    @Test
+    void retireShouldRejectTheKeyRotatedToByAnotherInstance() {
+        String retiredKid = jwtKeyRing.rotate().kid();
+        storeKeyRotatedElsewhere();
+
+        assertThatThrownBy(() -> jwtKeyRing.retire("rotated-elsewhere")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(jwtKeyRing.getSigningKid()).isEqualTo("rotated-elsewhere");
+        assertThat(jwtKeyRing.retire(retiredKid)).isTrue();
+    }
+
+    @Test
+    void rotateShouldStoreTheSecretEncryptedWithTheConfiguredKey() {
+        String rotatedKid = jwtKeyRing.rotate().kid();
+        String token = createToken();
+
+        assertThat(jwtDecoder.decode(token).getHeaders()).containsEntry("kid", rotatedKid);
+
+        byte[] otherKeyBytes = Base64.from(JWT_KEY.replace('f', 'e')).decode();
+        JwtKeyRing otherKeyRing = new JwtKeyRing(new SecretKeySpec(otherKeyBytes, JWT_ALGORITHM.getName()), JWT_ALGORITHM, jwtKeyRepository);
+        otherKeyRing.reload();
+        assertThat(otherKeyRing.verifier(rotatedKid)).isNull();
+        assertThat(otherKeyRing.describe()).hasSize(1);
+    }
+
+    @Test
+    void unknownKidShouldReloadTheKeysAtMostOnceInAWhile() {
+        storeKeyRotatedElsewhere();
+
+        assertThat(jwtKeyRing.verifier("rotated-elsewhere")).isNotNull();
+        assertThat(jwtKeyRing.verifier("unknown")).isNull();
+        assertThat(jwtKeyRing.verifier("unknown")).isNull();
+
+        // Once on startup, once for the first unknown kid
+        verify(jwtKeyRepository, times(2)).findAllByOrderByCreatedDateAsc();
+    }
+
+    private void storeKeyRotatedElsewhere() {
+        byte[] keyBytes = Base64.from(JWT_KEY).decode();
+        String encryptedSecret = new JwtKeyCipher(configuredKey, new SecureRandom()).encrypt("rotated-elsewhere", keyBytes);
+        storedKeys.add(new JwtKey("rotated-elsewhere", encryptedSecret, Instant.now().plusSeconds(1)));
+    }
+
+    private String createToken() {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder().issuedAt(now).expiresAt(now.plusSeconds(60)).subject("user").build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims)).getTokenValue();
+    }
+}
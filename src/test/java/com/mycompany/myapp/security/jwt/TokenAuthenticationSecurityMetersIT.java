@@ -20,6 +20,8 @@ class TokenAuthenticationSecurityMetersIT {
 
     private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
 
+    private static final String TOKEN_DECODE_METER_EXPECTED_NAME = "security.authentication.token-decode";
+
     @Autowired
     private MockMvc mvc;
 
@@ -77,6 +79,19 @@ class TokenAuthenticationSecurityMetersIT {
         assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(count + 1);
     }
 
+    @Test
+    void testTokenDecodeTimers() throws Exception {
+        var validCount = meterRegistry.get(TOKEN_DECODE_METER_EXPECTED_NAME).tag("outcome", "valid").timer().count();
+        var invalidCount = meterRegistry.get(TOKEN_DECODE_METER_EXPECTED_NAME).tag("outcome", "invalid").timer().count();
+
+        tryToAuthenticate(createValidTokenForUser(jwtKey, "timed"));
+        tryToAuthenticate(createTokenWithDifferentSignature());
+
+        assertThat(meterRegistry.get(TOKEN_DECODE_METER_EXPECTED_NAME).tag("outcome", "valid").timer().count()).isEqualTo(validCount + 1);
+        assertThat(meterRegistry.get(TOKEN_DECODE_METER_EXPECTED_NAME).tag("outcome", "invalid").timer().count())
+            .isEqualTo(invalidCount + 1);
+    }
+
     private void tryToAuthenticate(String token) throws Exception {
         mvc.perform(MockMvcRequestBuilders.get("/api/authenticate").header(AUTHORIZATION, BEARER + token));
     }
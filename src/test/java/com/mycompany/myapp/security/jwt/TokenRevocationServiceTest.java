@@ -0,0 +1,87 @@
+package com.mycompany.myapp.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.RevokedToken;
+import com.mycompany.myapp.repository.RevokedTokenRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Unit tests for {@link TokenRevocationService}.
+ */
+class TokenRevocationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    public void init() {
+        revokedTokenRepository = Mockito.mock(RevokedTokenRepository.class);
+        tokenRevocationService =
+            new TokenRevocationService(revokedTokenRepository, new ApplicationProperties(), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void isRevokedShouldOnlyQueryTheDatabaseForSuspectedTokens() {
+        assertThat(tokenRevocationService.isRevoked("not-revoked")).isFalse();
+        assertThat(tokenRevocationService.isRevoked(null)).isFalse();
+        verify(revokedTokenRepository, never()).existsById(any());
+
+        assertThat(tokenRevocationService.revoke("revoked", NOW.plusSeconds(60))).isTrue();
+        verify(revokedTokenRepository).saveAndFlush(new RevokedToken("revoked", NOW.plusSeconds(60)));
+
+        when(revokedTokenRepository.existsById("revoked")).thenReturn(true);
+        assertThat(tokenRevocationService.isRevoked("revoked")).isTrue();
+    }
+
+    @Test
+    void revokeShouldReportATokenAlreadyRevokedByAnotherInstance() {
+        when(revokedTokenRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate jti"));
+        when(revokedTokenRepository.existsById("revoked-elsewhere")).thenReturn(true);
+
+        assertThat(tokenRevocationService.revoke("revoked-elsewhere", NOW.plusSeconds(60))).isFalse();
+        assertThat(tokenRevocationService.isRevoked("revoked-elsewhere")).isTrue();
+    }
+
+    @Test
+    void rebuildShouldPurgeExpiredTokensAndLoadTheOthers() {
+        when(revokedTokenRepository.findAllJtis()).thenReturn(List.of("revoked-before-restart"));
+        when(revokedTokenRepository.existsById("revoked-before-restart")).thenReturn(true);
+
+        tokenRevocationService.afterSingletonsInstantiated();
+
+        verify(revokedTokenRepository).deleteExpired(NOW);
+        assertThat(tokenRevocationService.isRevoked("revoked-before-restart")).isTrue();
+        assertThat(tokenRevocationService.isRevoked("not-revoked")).isFalse();
+    }
+
+    @Test
+    void rebuildShouldKeepTheTokensRevokedMeanwhile() {
+        tokenRevocationService.revoke("not-yet-committed", NOW.plusSeconds(60));
+        when(revokedTokenRepository.findAllJtis()).thenAnswer(invocation -> {
+            tokenRevocationService.revoke("revoked-during-rebuild", NOW.plusSeconds(60));
+            return List.of();
+        });
+        when(revokedTokenRepository.existsById(any())).thenReturn(true);
+
+        tokenRevocationService.rebuild();
+
+        assertThat(tokenRevocationService.isRevoked("not-yet-committed")).isTrue();
+        assertThat(tokenRevocationService.isRevoked("revoked-during-rebuild")).isTrue();
+    }
+}
@@ -0,0 +1,96 @@
+package com.mycompany.myapp.security.jwt;
+
+import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
+import static com.mycompany.myapp.security.jwt.JwtAuthenticationTestUtils.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.nimbusds.jose.util.Base64;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Unit tests for {@link VerifyingJwtDecoder}.
+ */
+class VerifyingJwtDecoderTest {
+
+    private static final String JWT_KEY =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    private VerifyingJwtDecoder jwtDecoder;
+
+    @BeforeEach
+    public void init() {
+        byte[] keyBytes = Base64.from(JWT_KEY).decode();
+        jwtDecoder =
+            new VerifyingJwtDecoder(
+                new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName()),
+                JWT_ALGORITHM,
+                new JwtTimestampsValidator()
+            );
+    }
+
+    @Test
+    void decodeShouldReturnTheClaimsOfAValidToken() {
+        Jwt jwt = jwtDecoder.decode(createValidTokenForUser(JWT_KEY, "user"));
+
+        assertThat(jwt.getSubject()).isEqualTo("user");
+        assertThat(jwt.getExpiresAt()).isAfter(Instant.now());
+        assertThat(jwt.getHeaders()).containsEntry("alg", JWT_ALGORITHM.getName());
+    }
+
+    @Test
+    void decodeShouldClassifyFailures() throws Exception {
+        assertFailure(createTokenWithDifferentSignature(), JwtFailure.INVALID_SIGNATURE);
+        assertFailure(createExpiredToken(JWT_KEY), JwtFailure.EXPIRED);
+        assertFailure(createSignedInvalidJwt(JWT_KEY), JwtFailure.MALFORMED);
+        assertFailure(createInvalidToken(JWT_KEY), JwtFailure.MALFORMED);
+        // {"alg":"none"}.{"sub":"user"}.
+        assertFailure("eyJhbGciOiJub25lIn0.eyJzdWIiOiJ1c2VyIn0.", JwtFailure.UNSUPPORTED);
+    }
+
+    @Test
+    void decodeShouldClassifyFailuresOfOtherValidators() {
+        jwtDecoder =
+            new VerifyingJwtDecoder(
+                new SecretKeySpec(Base64.from(JWT_KEY).decode(), JWT_ALGORITHM.getName()),
+                JWT_ALGORITHM,
+                jwt -> OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token"))
+            );
+
+        assertFailure(createValidToken(JWT_KEY), JwtFailure.INVALID_CLAIMS);
+    }
+
+    @Test
+    void timestampsValidatorShouldAllowClockSkew() {
+        Instant now = Instant.parse("2026-10-17T12:00:00Z");
+        JwtTimestampsValidator validator = new JwtTimestampsValidator(Duration.ofSeconds(60), Clock.fixed(now, ZoneOffset.UTC));
+
+        assertThat(validator.validate(jwt().expiresAt(now.minusSeconds(60)).build()).hasErrors()).isFalse();
+        assertThat(validator.validate(jwt().expiresAt(now.minusSeconds(61)).build()).getErrors())
+            .singleElement()
+            .extracting(error -> ((JwtFailureError) error).getFailure())
+            .isEqualTo(JwtFailure.EXPIRED);
+        assertThat(validator.validate(jwt().notBefore(now.plusSeconds(61)).build()).getErrors())
+            .singleElement()
+            .extracting(error -> ((JwtFailureError) error).getFailure())
+            .isEqualTo(JwtFailure.NOT_YET_VALID);
+    }
+
+    private static Jwt.Builder jwt() {
+        return Jwt.withTokenValue("token").header("alg", JWT_ALGORITHM.getName()).subject("user");
+    }
+
+    private void assertFailure(String token, JwtFailure failure) {
+        assertThatThrownBy(() -> jwtDecoder.decode(token))
+            .isInstanceOfSatisfying(InvalidJwtException.class, e -> assertThat(e.getFailure()).isEqualTo(failure));
+    }
+}
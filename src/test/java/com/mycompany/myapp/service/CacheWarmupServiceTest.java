@@ -0,0 +1,157 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.Medicamento;
+import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.repository.MedicamentoRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Unit tests for {@link CacheWarmupService}.
+ */
+class CacheWarmupServiceTest {
+
+    private static final List<String> AUTHORITIES = List.of("ROLE_ADMIN", "ROLE_USER");
+
+    private static final List<Long> IDS = LongStream.concat(LongStream.rangeClosed(1, 900), LongStream.rangeClosed(5000, 5100)).boxed().toList();
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private final Set<Long> loadedIds = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> loadedAuthorities = ConcurrentHashMap.newKeySet();
+
+    private MedicamentoRepository medicamentoRepository;
+
+    private AuthorityRepository authorityRepository;
+
+    @BeforeEach
+    public void init() {
+        applicationProperties.getCache().getWarmup().setThreads(3);
+        applicationProperties.getCache().getWarmup().setBatchSize(50);
+        medicamentoRepository = Mockito.mock(MedicamentoRepository.class);
+        authorityRepository = Mockito.mock(AuthorityRepository.class);
+        when(medicamentoRepository.count()).thenReturn((long) IDS.size());
+        when(authorityRepository.count()).thenReturn((long) AUTHORITIES.size());
+        when(authorityRepository.findByNameGreaterThan(anyString(), any())).thenAnswer(invocation -> {
+            String after = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            List<Authority> content = AUTHORITIES.stream().filter(name -> name.compareTo(after) > 0).map(CacheWarmupServiceTest::authority).toList();
+            content.forEach(authority -> assertThat(loadedAuthorities.add(authority.getName())).as("Loaded once").isTrue());
+            return new SliceImpl<>(content, pageable, false);
+        });
+        when(medicamentoRepository.findMinId()).thenReturn(IDS.get(0));
+        when(medicamentoRepository.findMaxId()).thenReturn(IDS.get(IDS.size() - 1));
+        when(medicamentoRepository.findByIdGreaterThanAndIdLessThanEqual(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            long last = invocation.getArgument(1);
+            Pageable pageable = invocation.getArgument(2);
+            List<Medicamento> page = IDS
+                .stream()
+                .filter(id -> id > after && id <= last)
+                .limit(pageable.getPageSize() + 1L)
+                .map(CacheWarmupServiceTest::medicamento)
+                .toList();
+            boolean hasNext = page.size() > pageable.getPageSize();
+            List<Medicamento> content = hasNext ? page.subList(0, pageable.getPageSize()) : page;
+            content.forEach(medicamento -> assertThat(loadedIds.add(medicamento.getId())).as("Loaded once").isTrue());
+            return new SliceImpl<>(content, pageable, hasNext);
+        });
+    }
+
+    @Test
+    void warmUpShouldLoadTheWholeCatalogInParallelRanges() {
+        CacheWarmupService cacheWarmupService = newCacheWarmupService();
+        assertThat(cacheWarmupService.getProgress().state()).isEqualTo(CacheWarmupService.State.PENDING);
+
+        cacheWarmupService.warmUp().join();
+
+        CacheWarmupService.Progress progress = cacheWarmupService.getProgress();
+        assertThat(progress.state()).isEqualTo(CacheWarmupService.State.DONE);
+        assertThat(progress.state().isFinished()).isTrue();
+        assertThat(progress.loaded()).isEqualTo(IDS.size() + AUTHORITIES.size());
+        assertThat(progress.total()).isEqualTo(IDS.size() + AUTHORITIES.size());
+        assertThat(loadedIds).containsExactlyInAnyOrderElementsOf(IDS);
+        assertThat(loadedAuthorities).containsExactlyInAnyOrderElementsOf(AUTHORITIES);
+    }
+
+    @Test
+    void warmUpShouldBeAbandonedAfterTheTimeout() throws Exception {
+        applicationProperties.getCache().getWarmup().setTimeout(Duration.ofMillis(200));
+        CountDownLatch blocked = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            blocked.await();
+            return new SliceImpl<>(List.of());
+        })
+            .when(authorityRepository)
+            .findByNameGreaterThan(anyString(), any());
+        CacheWarmupService cacheWarmupService = newCacheWarmupService();
+
+        cacheWarmupService.warmUp().join();
+
+        assertThat(cacheWarmupService.getProgress().state()).isEqualTo(CacheWarmupService.State.TIMED_OUT);
+        assertThat(cacheWarmupService.getProgress().state().isFinished()).isTrue();
+    }
+
+    @Test
+    void warmUpShouldReportAFailureAsFinished() {
+        when(medicamentoRepository.findMaxId()).thenThrow(new IllegalStateException("Database down"));
+        CacheWarmupService cacheWarmupService = newCacheWarmupService();
+
+        cacheWarmupService.warmUp().join();
+
+        assertThat(cacheWarmupService.getProgress().state()).isEqualTo(CacheWarmupService.State.FAILED);
+    }
+
+    @Test
+    void disabledWarmUpShouldBeFinished() {
+        applicationProperties.getCache().getWarmup().setEnabled(false);
+        CacheWarmupService cacheWarmupService = newCacheWarmupService();
+
+        cacheWarmupService.onApplicationReady();
+
+        assertThat(cacheWarmupService.getProgress().state()).isEqualTo(CacheWarmupService.State.DISABLED);
+        assertThat(cacheWarmupService.getProgress().state().isFinished()).isTrue();
+        assertThat(loadedIds).isEmpty();
+    }
+
+    private CacheWarmupService newCacheWarmupService() {
+        return new CacheWarmupService(
+            medicamentoRepository,
+            authorityRepository,
+            Mockito.mock(PlatformTransactionManager.class),
+            applicationProperties
+        );
+    }
+
+    private static Authority authority(String name) {
+        Authority authority = new Authority();
+        authority.setName(name);
+        return authority;
+    }
+
+    private static Medicamento medicamento(long id) {
+        Medicamento medicamento = new Medicamento();
+        medicamento.setId(id);
+        return medicamento;
+    }
+}
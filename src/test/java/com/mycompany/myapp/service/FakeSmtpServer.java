@@ -0,0 +1,128 @@
+package com.mycompany.myapp.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local SMTP server recording the messages it receives, in the spirit of GreenMail: it speaks just enough SMTP for
+ * JavaMail, handles one connection at a time, and rejects the recipients added to {@link #rejectedRecipients()}.
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+    /**
+     * A received message.
+     */
+    record Message(List<String> recipients, String data) {}
+
+    private final ServerSocket serverSocket;
+
+    private final Thread acceptThread;
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private final List<Message> messages = new CopyOnWriteArrayList<>();
+
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+
+    FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        acceptThread = new Thread(this::acceptLoop, "fake-smtp");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    List<Message> getMessages() {
+        return messages;
+    }
+
+    Set<String> rejectedRecipients() {
+        return rejectedRecipients;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                connectionCount.incrementAndGet();
+                handle(socket);
+            } catch (SocketException e) {
+                // Closed
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private void handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        OutputStream out = socket.getOutputStream();
+        reply(out, "220 localhost fake SMTP");
+        List<String> recipients = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.length() < 4 ? line.toUpperCase(Locale.ROOT) : line.substring(0, 4).toUpperCase(Locale.ROOT);
+            switch (command) {
+                case "EHLO", "HELO", "NOOP" -> reply(out, "250 OK");
+                case "MAIL", "RSET" -> {
+                    recipients.clear();
+                    reply(out, "250 OK");
+                }
+                case "RCPT" -> {
+                    String recipient = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>'));
+                    if (rejectedRecipients.contains(recipient)) {
+                        reply(out, "550 No such user");
+                    } else {
+                        recipients.add(recipient);
+                        reply(out, "250 OK");
+                    }
+                }
+                case "DATA" -> {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder data = new StringBuilder();
+                    while (!".".equals(line = in.readLine())) {
+                        data.append(line).append("\r\n");
+                    }
+                    messages.add(new Message(List.copyOf(recipients), data.toString()));
+                    recipients.clear();
+                    reply(out, "250 OK");
+                }
+                case "QUIT" -> {
+                    reply(out, "221 Bye");
+                    return;
+                }
+                default -> reply(out, "502 Command not implemented");
+            }
+        }
+    }
+
+    private static void reply(OutputStream out, String reply) throws IOException {
+        out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
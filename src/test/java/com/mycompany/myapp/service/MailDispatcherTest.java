@@ -0,0 +1,266 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.OutboundMail;
+import com.mycompany.myapp.domain.enumeration.OutboundMailStatus;
+import com.mycompany.myapp.repository.OutboundMailRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for {@link MailDispatcher}, sending to a {@link FakeSmtpServer}.
+ */
+class MailDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    private final Map<Long, OutboundMail> outbox = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FakeSmtpServer smtpServer;
+
+    private OutboundMailRepository outboundMailRepository;
+
+    @BeforeEach
+    public void init() throws Exception {
+        smtpServer = new FakeSmtpServer();
+        outboundMailRepository = Mockito.mock(OutboundMailRepository.class);
+        when(outboundMailRepository.save(any())).thenAnswer(invocation -> store(invocation.getArgument(0)));
+        when(outboundMailRepository.saveAll(any())).thenAnswer(invocation -> {
+            Collection<OutboundMail> mails = invocation.getArgument(0);
+            mails.forEach(this::store);
+            return List.copyOf(mails);
+        });
+        when(outboundMailRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(outbox::get).filter(mail -> mail != null).map(MailDispatcherTest::copy).toList();
+        });
+        doAnswer(invocation -> outbox.keySet().removeAll(invocation.getArgument(0)))
+            .when(outboundMailRepository)
+            .deleteAllByIdInBatch(any());
+        when(outboundMailRepository.findIdsDue(any(), any(), any())).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(1);
+            Pageable pageable = invocation.getArgument(2);
+            return outbox
+                .values()
+                .stream()
+                .filter(mail -> mail.getStatus() == invocation.getArgument(0) && !mail.getNextAttemptAt().isAfter(now))
+                .sorted(Comparator.comparing(OutboundMail::getNextAttemptAt))
+                .limit(pageable.getPageSize())
+                .map(OutboundMail::getId)
+                .toList();
+        });
+        when(outboundMailRepository.lease(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            OutboundMail mail = outbox.get(invocation.<Long>getArgument(0));
+            Instant now = invocation.getArgument(2);
+            if (mail == null || mail.getStatus() != invocation.getArgument(1) || mail.getNextAttemptAt().isAfter(now)) {
+                return 0;
+            }
+            mail.setNextAttemptAt(invocation.getArgument(3));
+            return 1;
+        });
+        when(outboundMailRepository.countByStatus(any()))
+            .thenAnswer(invocation -> outbox.values().stream().filter(mail -> mail.getStatus() == invocation.getArgument(0)).count());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        smtpServer.close();
+    }
+
+    @Test
+    void queuedMailsShouldBeSentInOneBatchOverOneConnection() {
+        MailDispatcher mailDispatcher = newMailDispatcher();
+
+        mailDispatcher.enqueue("john.doe@example.com", "first", "content", false, false);
+        mailDispatcher.enqueue("jane.doe@example.com", "second", "content", false, true);
+        mailDispatcher.enqueue("jim.doe@example.com", "third", "content", true, false);
+        clock.advance(Duration.ofSeconds(2));
+        mailDispatcher.dispatchQueued();
+
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(1);
+        assertThat(smtpServer.getMessages())
+            .extracting(FakeSmtpServer.Message::recipients)
+            .containsExactly(List.of("john.doe@example.com"), List.of("jane.doe@example.com"), List.of("jim.doe@example.com"));
+        assertThat(smtpServer.getMessages().get(0).data()).contains("Subject: first", "From: test@localhost");
+        assertThat(outbox).isEmpty();
+        assertThat(meterRegistry.get("mail.messages").tag("outcome", "sent").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("mail.delivery").timer().totalTime(TimeUnit.SECONDS)).isEqualTo(6);
+        assertThat(meterRegistry.get("mail.batch").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedMailShouldBeRetriedWithBackoffThenMarkedAsFailed() {
+        applicationProperties.getMailDispatch().setMaxAttempts(3);
+        MailDispatcher mailDispatcher = newMailDispatcher();
+        smtpServer.rejectedRecipients().add("bounce@example.com");
+
+        mailDispatcher.enqueue("bounce@example.com", "subject", "content", false, false);
+        mailDispatcher.enqueue("john.doe@example.com", "subject", "content", false, false);
+        mailDispatcher.dispatchQueued();
+
+        assertThat(smtpServer.getMessages()).extracting(FakeSmtpServer.Message::recipients).containsExactly(List.of("john.doe@example.com"));
+        OutboundMail bounced = outbox.values().iterator().next();
+        assertThat(outbox).hasSize(1);
+        assertThat(bounced.getAttempts()).isEqualTo(1);
+        assertThat(bounced.getNextAttemptAt()).isEqualTo(NOW.plusSeconds(30));
+        assertThat(bounced.getLastError()).isNotBlank();
+
+        mailDispatcher.queueDueMails();
+        mailDispatcher.dispatchQueued();
+        assertThat(bounced.getAttempts()).as("Not due yet").isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(30));
+        mailDispatcher.queueDueMails();
+        mailDispatcher.dispatchQueued();
+        assertThat(bounced.getAttempts()).isEqualTo(2);
+        assertThat(bounced.getNextAttemptAt()).as("Backoff doubled").isEqualTo(NOW.plusSeconds(30 + 60));
+
+        clock.advance(Duration.ofSeconds(60));
+        mailDispatcher.queueDueMails();
+        mailDispatcher.dispatchQueued();
+        assertThat(bounced.getAttempts()).isEqualTo(3);
+        assertThat(bounced.getStatus()).isEqualTo(OutboundMailStatus.FAILED);
+
+        clock.advance(Duration.ofDays(1));
+        mailDispatcher.queueDueMails();
+        mailDispatcher.dispatchQueued();
+        assertThat(bounced.getAttempts()).as("Given up").isEqualTo(3);
+        assertThat(meterRegistry.get("mail.messages").tag("outcome", "retried").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("mail.messages").tag("outcome", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void mailShouldWaitInTheOutboxWhenTheQueueIsFull() {
+        applicationProperties.getMailDispatch().setQueueCapacity(1);
+        MailDispatcher mailDispatcher = newMailDispatcher();
+
+        mailDispatcher.enqueue("john.doe@example.com", "first", "content", false, false);
+        mailDispatcher.enqueue("jane.doe@example.com", "second", "content", false, false);
+
+        assertThat(meterRegistry.get("mail.queue.size").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.queue.overflows").counter().count()).isEqualTo(1);
+        mailDispatcher.dispatchQueued();
+        assertThat(smtpServer.getMessages()).hasSize(1);
+
+        mailDispatcher.queueDueMails();
+        mailDispatcher.dispatchQueued();
+        assertThat(smtpServer.getMessages())
+            .extracting(FakeSmtpServer.Message::recipients)
+            .containsExactly(List.of("john.doe@example.com"), List.of("jane.doe@example.com"));
+        assertThat(outbox).isEmpty();
+    }
+
+    @Test
+    void backoffShouldBeCapped() {
+        MailDispatcher mailDispatcher = newMailDispatcher();
+
+        assertThat(mailDispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(mailDispatcher.backoff(4)).isEqualTo(Duration.ofSeconds(240));
+        assertThat(mailDispatcher.backoff(100)).isEqualTo(Duration.ofHours(1));
+    }
+
+    private MailDispatcher newMailDispatcher() {
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(smtpServer.getPort());
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setFrom("test@localhost");
+        return new MailDispatcher(outboundMailRepository, javaMailSender, jHipsterProperties, applicationProperties, meterRegistry, clock);
+    }
+
+    private OutboundMail store(OutboundMail mail) {
+        if (mail.getId() == null) {
+            mail.setId(sequence.incrementAndGet());
+        }
+        OutboundMail stored = outbox.get(mail.getId());
+        if (stored == null) {
+            outbox.put(mail.getId(), mail);
+            return mail;
+        }
+        stored.setStatus(mail.getStatus());
+        stored.setAttempts(mail.getAttempts());
+        stored.setNextAttemptAt(mail.getNextAttemptAt());
+        stored.setLastError(mail.getLastError());
+        return stored;
+    }
+
+    /**
+     * A detached copy, like the entities loaded outside of a transaction.
+     */
+    private static OutboundMail copy(OutboundMail mail) {
+        OutboundMail copy = new OutboundMail();
+        copy.setId(mail.getId());
+        copy.setRecipient(mail.getRecipient());
+        copy.setSubject(mail.getSubject());
+        copy.setContent(mail.getContent());
+        copy.setMultipart(mail.isMultipart());
+        copy.setHtml(mail.isHtml());
+        copy.setStatus(mail.getStatus());
+        copy.setAttempts(mail.getAttempts());
+        copy.setNextAttemptAt(mail.getNextAttemptAt());
+        copy.setCreatedDate(mail.getCreatedDate());
+        copy.setLastError(mail.getLastError());
+        return copy;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.Medicamento;
+import com.mycompany.myapp.repository.MedicamentoRepository;
+import com.mycompany.myapp.repository.MedicamentoRepository.MedicamentoSummary;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * Unit tests for the index of {@link MedicamentoSearchService}.
+ */
+class MedicamentoSearchServiceTest {
+
+    private MedicamentoSearchService medicamentoSearchService;
+
+    @BeforeEach
+    public void init() {
+        medicamentoSearchService = new MedicamentoSearchService(null, null);
+        medicamentoSearchService.index(new Medicamento().id(1L).nombre("Paracetamol 500mg").descripcion("Analgésico y antipirético"));
+        medicamentoSearchService.index(new Medicamento().id(2L).nombre("Ácido acetilsalicílico").descripcion("Analgésico"));
+        medicamentoSearchService.index(new Medicamento().id(3L).nombre("Omeprazol").descripcion(null));
+    }
+
+    @Test
+    void tokenizeShouldFoldCaseAndAccents() {
+        assertThat(MedicamentoSearchService.tokenize("Ácido ACETILSALICÍLICO, 100mg"))
+            .containsExactly("acido", "acetilsalicilico", "100mg");
+        assertThat(MedicamentoSearchService.tokenize(" -- ")).isEmpty();
+        assertThat(MedicamentoSearchService.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void searchShouldMatchPrefixesOfAllTerms() {
+        assertThat(medicamentoSearchService.searchIds("analges")).containsExactly(1L, 2L);
+        assertThat(medicamentoSearchService.searchIds("Analgésico acido")).containsExactly(2L);
+        assertThat(medicamentoSearchService.searchIds("ome")).containsExactly(3L);
+        assertThat(medicamentoSearchService.searchIds("omeprazoles")).isEmpty();
+        assertThat(medicamentoSearchService.searchIds("")).isEmpty();
+    }
+
+    @Test
+    void indexShouldReplacePreviousTerms() {
+        medicamentoSearchService.index(new Medicamento().id(2L).nombre("Aspirina").descripcion("Analgésico"));
+
+        assertThat(medicamentoSearchService.searchIds("acido")).isEmpty();
+        assertThat(medicamentoSearchService.searchIds("aspi analg")).containsExactly(2L);
+    }
+
+    @Test
+    void removeShouldDropAllTerms() {
+        medicamentoSearchService.remove(1L);
+
+        assertThat(medicamentoSearchService.searchIds("analges")).containsExactly(2L);
+        assertThat(medicamentoSearchService.searchIds("paracetamol")).isEmpty();
+    }
+
+    @Test
+    void rebuildIndexShouldLoadTheMedicamentosInTheBackground() {
+        MedicamentoRepository medicamentoRepository = mock(MedicamentoRepository.class);
+        when(medicamentoRepository.findSummariesByIdGreaterThan(anyLong(), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(List.of(summary(4L, "Ibuprofeno"))));
+        MedicamentoSearchService rebuiltService = new MedicamentoSearchService(medicamentoRepository, null);
+        assertThat(rebuiltService.getIndexState()).isEqualTo(MedicamentoSearchService.IndexState.PENDING);
+
+        rebuiltService.rebuildIndexAsync().join();
+
+        assertThat(rebuiltService.getIndexState()).isEqualTo(MedicamentoSearchService.IndexState.READY);
+        assertThat(rebuiltService.getIndexedCount()).isEqualTo(1);
+        assertThat(rebuiltService.searchIds("ibu")).containsExactly(4L);
+    }
+
+    @Test
+    void rebuildIndexShouldKeepTheChangesCommittedMeanwhile() {
+        MedicamentoRepository medicamentoRepository = mock(MedicamentoRepository.class);
+        // Pages read before the medicamentos were updated or deleted
+        when(medicamentoRepository.findSummariesByIdGreaterThan(anyLong(), any(Pageable.class)))
+            .thenAnswer(invocation -> {
+                medicamentoSearchService.index(new Medicamento().id(1L).nombre("Paracetamol 1g").descripcion(null));
+                medicamentoSearchService.remove(2L);
+                return new SliceImpl<>(
+                    List.of(
+                        summary(1L, "Paracetamol 500mg"),
+                        summary(2L, "Ácido acetilsalicílico")
+                    )
+                );
+            });
+        medicamentoSearchService = new MedicamentoSearchService(medicamentoRepository, null);
+
+        medicamentoSearchService.rebuildIndex();
+
+        assertThat(medicamentoSearchService.searchIds("1g")).containsExactly(1L);
+        assertThat(medicamentoSearchService.searchIds("500mg")).isEmpty();
+        assertThat(medicamentoSearchService.searchIds("acido")).isEmpty();
+    }
+
+    @Test
+    void rebuildIndexShouldReportAFailure() {
+        MedicamentoRepository medicamentoRepository = mock(MedicamentoRepository.class);
+        when(medicamentoRepository.findSummariesByIdGreaterThan(anyLong(), any(Pageable.class))).thenThrow(new IllegalStateException("database down"));
+        MedicamentoSearchService failedService = new MedicamentoSearchService(medicamentoRepository, null);
+
+        failedService.rebuildIndex();
+
+        assertThat(failedService.getIndexState()).isEqualTo(MedicamentoSearchService.IndexState.FAILED);
+        assertThat(failedService.getIndexState().isFinished()).isTrue();
+    }
+
+    private static MedicamentoSummary summary(Long id, String nombre) {
+        return new MedicamentoSummary(id, nombre, null, null, 0L);
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.repository.MedicamentoRepository.NombreWithStock;
+import com.mycompany.myapp.service.MedicamentoSuggestionService.SuggestionIndex;
+import com.mycompany.myapp.service.dto.MedicamentoSuggestionDTO;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the index of {@link MedicamentoSuggestionService}.
+ */
+class MedicamentoSuggestionServiceTest {
+
+    @Test
+    void suggestShouldRankMatchingNamesByStock() {
+        SuggestionIndex index = new SuggestionIndex(
+            List.of(
+                entry(1L, "Ibuprofeno 400", 5),
+                entry(2L, "Ibuprofeno 600", 50),
+                entry(3L, "Íbex", null),
+                entry(4L, "Omeprazol", 100)
+            )
+        );
+
+        assertThat(index.suggest("ib", 10)).extracting(MedicamentoSuggestionDTO::getId).containsExactly(2L, 1L, 3L);
+        assertThat(index.suggest("ibuprofeno 4", 10)).extracting(MedicamentoSuggestionDTO::getId).containsExactly(1L);
+        assertThat(index.suggest("ib", 1)).extracting(MedicamentoSuggestionDTO::getNombre).containsExactly("Ibuprofeno 600");
+        assertThat(index.suggest("x", 10)).isEmpty();
+        assertThat(SuggestionIndex.EMPTY.suggest("ib", 10)).isEmpty();
+    }
+
+    @Test
+    void suggestShouldRankHeavyPrefixesUpfront() {
+        List<NombreWithStock> entries = new ArrayList<>();
+        for (int i = 0; i < 4 * SuggestionIndex.SCAN_LIMIT; i++) {
+            entries.add(entry((long) i, "Paracetamol " + i, i % 100));
+        }
+        entries.add(entry(-1L, "Parche", 1000));
+        SuggestionIndex index = new SuggestionIndex(entries);
+
+        List<MedicamentoSuggestionDTO> suggestions = index.suggest("par", MedicamentoSuggestionService.MAX_SUGGESTIONS);
+        assertThat(suggestions).hasSize(MedicamentoSuggestionService.MAX_SUGGESTIONS);
+        assertThat(suggestions.get(0).getNombre()).isEqualTo("Parche");
+        assertThat(suggestions).extracting(MedicamentoSuggestionDTO::getCantidadStock).isSortedAccordingTo((a, b) -> b - a);
+        assertThat(index.suggest("parac", 3)).extracting(MedicamentoSuggestionDTO::getCantidadStock).containsOnly(99);
+    }
+
+    private static NombreWithStock entry(Long id, String nombre, Integer cantidadStock) {
+        return new NombreWithStock() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getNombre() {
+                return nombre;
+            }
+
+            @Override
+            public Integer getCantidadStock() {
+                return cantidadStock;
+            }
+        };
+    }
+}
@@ -18,6 +18,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
 
@@ -49,6 +50,9 @@ class UserServiceIT {
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private UserCache userCache;
+
     @MockBean
     private DateTimeProvider dateTimeProvider;
 
@@ -144,6 +148,22 @@ class UserServiceIT {
         userRepository.delete(user);
     }
 
+    @Test
+    @Transactional
+    void assertThatPasswordResetEvictsTheCachedUserDetails() {
+        user.setActivated(true);
+        user.setResetDate(Instant.now());
+        user.setResetKey(RandomUtil.generateResetKey());
+        userRepository.saveAndFlush(user);
+        userCache.putUserInCache(
+            org.springframework.security.core.userdetails.User.withUsername(user.getLogin()).password(user.getPassword()).build()
+        );
+
+        userService.completePasswordReset("johndoe2", user.getResetKey());
+
+        assertThat(userCache.getUserFromCache(user.getLogin())).isNull();
+    }
+
     @Test
     @Transactional
     void assertThatNotActivatedUsersWithNotNullActivationKeyCreatedBefore3DaysAreDeleted() {
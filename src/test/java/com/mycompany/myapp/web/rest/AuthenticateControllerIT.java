@@ -1,28 +1,38 @@
 package com.mycompany.myapp.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.web.rest.vm.LoginVM;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
 /**
  * Integration tests for the {@link AuthenticateController} REST controller.
+ * <p>
+ * The logins are authenticated by another thread: the users are committed, then deleted after each test.
  */
 @AutoConfigureMockMvc
 @IntegrationTest
@@ -34,11 +44,22 @@ class AuthenticateControllerIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @AfterEach
+    public void cleanup() {
+        userRepository.findOneByLogin("user-jwt-controller").ifPresent(userRepository::delete);
+        userRepository.findOneByLogin("user-jwt-controller-remember-me").ifPresent(userRepository::delete);
+        userRepository.findOneByLogin("user-jwt-controller-legacy-hash").ifPresent(userRepository::delete);
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+    }
+
     @Test
-    @Transactional
     void testAuthorize() throws Exception {
         User user = new User();
         user.setLogin("user-jwt-controller");
@@ -51,17 +72,16 @@ class AuthenticateControllerIT {
         LoginVM login = new LoginVM();
         login.setUsername("user-jwt-controller");
         login.setPassword("test");
-        mockMvc
-            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+        authenticate(login)
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id_token").isString())
             .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
             .andExpect(header().string("Authorization", not(nullValue())))
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
     @Test
-    @Transactional
     void testAuthorizeWithRememberMe() throws Exception {
         User user = new User();
         user.setLogin("user-jwt-controller-remember-me");
@@ -75,24 +95,68 @@ class AuthenticateControllerIT {
         login.setUsername("user-jwt-controller-remember-me");
         login.setPassword("test");
         login.setRememberMe(true);
-        mockMvc
-            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+        authenticate(login)
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id_token").isString())
             .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
             .andExpect(header().string("Authorization", not(nullValue())))
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
+    @Test
+    void testAuthorizeUpgradesLegacyPasswordHash() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-legacy-hash");
+        user.setEmail("user-jwt-controller-legacy-hash@example.com");
+        user.setActivated(true);
+        // Hash stored before the encoding id was prepended
+        user.setPassword(new BCryptPasswordEncoder(4).encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-legacy-hash");
+        login.setPassword("test");
+        authenticate(login).andExpect(status().isOk());
+
+        String upgradedPassword = userRepository.findOneByLogin("user-jwt-controller-legacy-hash").orElseThrow().getPassword();
+        assertThat(upgradedPassword).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("test", upgradedPassword)).isTrue();
+    }
+
     @Test
     void testAuthorizeFails() throws Exception {
         LoginVM login = new LoginVM();
         login.setUsername("wrong-user");
         login.setPassword("wrong password");
-        mockMvc
-            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+        authenticate(login)
             .andExpect(status().isUnauthorized())
             .andExpect(jsonPath("$.id_token").doesNotExist())
             .andExpect(header().doesNotExist("Authorization"));
     }
+
+    @Test
+    void testAuthorizeIsRateLimitedByLogin() throws Exception {
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-rate-limited");
+        login.setPassword("wrong password");
+        for (int i = 0; i < 5; i++) {
+            authenticate(login).andExpect(status().isUnauthorized());
+        }
+
+        login.setUsername("USER-JWT-CONTROLLER-RATE-LIMITED");
+        authenticate(login)
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+            .andExpect(header().doesNotExist("Authorization"));
+    }
+
+    private ResultActions authenticate(LoginVM login) throws Exception {
+        MvcResult result = mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
@@ -1,21 +1,29 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Inventario;
+import com.mycompany.myapp.domain.Medicamento;
 import com.mycompany.myapp.repository.InventarioRepository;
+import com.mycompany.myapp.repository.MedicamentoRepository;
+import com.mycompany.myapp.service.dto.StockMovementDTO;
+import com.mycompany.myapp.web.rest.vm.StockMovementVM;
 import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -41,6 +49,9 @@ class InventarioResourceIT {
     @Autowired
     private InventarioRepository inventarioRepository;
 
+    @Autowired
+    private MedicamentoRepository medicamentoRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -139,7 +150,23 @@ class InventarioResourceIT {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(inventario.getId().intValue())))
-            .andExpect(jsonPath("$.[*].cantidadStock").value(hasItem(DEFAULT_CANTIDAD_STOCK)));
+            .andExpect(jsonPath("$.[*].cantidadStock").value(hasItem(DEFAULT_CANTIDAD_STOCK)))
+            .andExpect(jsonPath("$.[*].version").value(hasItem(inventario.getVersion().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllInventariosWithMedicamento() throws Exception {
+        // Initialize the database
+        Medicamento medicamento = medicamentoRepository.saveAndFlush(MedicamentoResourceIT.createEntity(em));
+        inventarioRepository.saveAndFlush(inventario.medicamento(medicamento));
+
+        // Get all the inventarioList: the medicamento is referenced by id
+        restInventarioMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.id == " + inventario.getId() + ")].medicamento.id").value(contains(medicamento.getId().intValue())))
+            .andExpect(jsonPath("$[?(@.id == " + inventario.getId() + ")].medicamento.nombre").isEmpty());
     }
 
     @Test
@@ -193,20 +220,47 @@ class InventarioResourceIT {
         assertThat(testInventario.getCantidadStock()).isEqualTo(UPDATED_CANTIDAD_STOCK);
     }
 
+    @Test
+    @Transactional
+    void putInventarioStatementCount() throws Exception {
+        // Initialize the database
+        inventarioRepository.saveAndFlush(inventario);
+        em.detach(inventario);
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        inventario.cantidadStock(UPDATED_CANTIDAD_STOCK);
+        restInventarioMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, inventario.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(inventario))
+            )
+            .andExpect(status().isOk());
+
+        // A single select to load the inventario, then a single update: no existence check and no merge
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
     @Test
     @Transactional
     void putNonExistingInventario() throws Exception {
         int databaseSizeBeforeUpdate = inventarioRepository.findAll().size();
         inventario.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An unknown id is reported as not found
         restInventarioMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, inventario.getId())
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(inventario))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Inventario in the database
         List<Inventario> inventarioList = inventarioRepository.findAll();
@@ -311,14 +365,14 @@ class InventarioResourceIT {
         int databaseSizeBeforeUpdate = inventarioRepository.findAll().size();
         inventario.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An unknown id is reported as not found
         restInventarioMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, inventario.getId())
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(inventario))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Inventario in the database
         List<Inventario> inventarioList = inventarioRepository.findAll();
@@ -363,6 +417,249 @@ class InventarioResourceIT {
         assertThat(inventarioList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void decrementInventario() throws Exception {
+        // Initialize the database
+        inventarioRepository.saveAndFlush(inventario.cantidadStock(5));
+
+        restInventarioMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/decrement", inventario.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(stockMovement(2)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(inventario.getId().intValue()))
+            .andExpect(jsonPath("$.cantidadStock").value(3));
+
+        em.clear();
+        assertThat(inventarioRepository.findById(inventario.getId()).orElseThrow().getCantidadStock()).isEqualTo(3);
+    }
+
+    @Test
+    @Transactional
+    void decrementInventarioWithNotEnoughStock() throws Exception {
+        // Initialize the database
+        inventarioRepository.saveAndFlush(inventario.cantidadStock(1));
+
+        restInventarioMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/decrement", inventario.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(stockMovement(2)))
+            )
+            .andExpect(status().isBadRequest());
+
+        em.clear();
+        assertThat(inventarioRepository.findById(inventario.getId()).orElseThrow().getCantidadStock()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void incrementInventario() throws Exception {
+        // Initialize the database
+        inventarioRepository.saveAndFlush(inventario.cantidadStock(1));
+
+        restInventarioMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/increment", inventario.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(stockMovement(4)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cantidadStock").value(5));
+    }
+
+    @Test
+    @Transactional
+    void incrementInventarioBeyondMaximum() throws Exception {
+        // Initialize the database
+        inventarioRepository.saveAndFlush(inventario.cantidadStock(Integer.MAX_VALUE - 1));
+
+        restInventarioMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/increment", inventario.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(stockMovement(2)))
+            )
+            .andExpect(status().isBadRequest());
+
+        em.clear();
+        assertThat(inventarioRepository.findById(inventario.getId()).orElseThrow().getCantidadStock()).isEqualTo(Integer.MAX_VALUE - 1);
+    }
+
+    @Test
+    @Transactional
+    void moveStockOfNonExistingInventario() throws Exception {
+        restInventarioMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/decrement", count.incrementAndGet())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(stockMovement(1)))
+            )
+            .andExpect(status().isNotFound());
+
+        restInventarioMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/increment", count.incrementAndGet())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(stockMovement(1)))
+            )
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void moveStockWithInvalidCantidad() throws Exception {
+        // Initialize the database
+        inventarioRepository.saveAndFlush(inventario);
+
+        restInventarioMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/decrement", inventario.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(stockMovement(0)))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void applyStockMovements() throws Exception {
+        // Movements commit their own batches, so this test does not run in a rolled back transaction
+        Medicamento medicamento = medicamentoRepository.saveAndFlush(MedicamentoResourceIT.createEntity(em));
+        Inventario stocked = inventarioRepository.saveAndFlush(createEntity(em).cantidadStock(10).medicamento(medicamento));
+        Medicamento unstockedMedicamento = medicamentoRepository.saveAndFlush(MedicamentoResourceIT.createEntity(em));
+        try {
+            List<StockMovementDTO> movements = List.of(
+                new StockMovementDTO(medicamento.getId(), 5),
+                new StockMovementDTO(medicamento.getId(), -12),
+                new StockMovementDTO(medicamento.getId(), -20),
+                new StockMovementDTO(medicamento.getId(), Integer.MAX_VALUE),
+                new StockMovementDTO(unstockedMedicamento.getId(), 1),
+                new StockMovementDTO(null, 1)
+            );
+
+            restInventarioMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/movements")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(movements))
+                )
+                .andExpect(status().isOk())
+                .andExpect(
+                    jsonPath("$.[*].status").value(contains("APPLIED", "APPLIED", "INSUFFICIENT_STOCK", "STOCK_OVERFLOW", "NOT_FOUND", "INVALID"))
+                )
+                .andExpect(jsonPath("$.[*].cantidadStock").value(contains(15, 3, 3, 3, null, null)));
+
+            assertThat(inventarioRepository.findById(stocked.getId()).orElseThrow().getCantidadStock()).isEqualTo(3);
+        } finally {
+            inventarioRepository.deleteById(stocked.getId());
+            medicamentoRepository.deleteById(medicamento.getId());
+            medicamentoRepository.deleteById(unstockedMedicamento.getId());
+        }
+    }
+
+    @Test
+    void applyStockMovementsStream() throws Exception {
+        // Movements commit their own batches, so this test does not run in a rolled back transaction
+        Medicamento medicamento = medicamentoRepository.saveAndFlush(MedicamentoResourceIT.createEntity(em));
+        Inventario stocked = inventarioRepository.saveAndFlush(createEntity(em).cantidadStock(1).medicamento(medicamento));
+        try {
+            String movements =
+                "{\"medicamentoId\":" +
+                medicamento.getId() +
+                ",\"delta\":2}\n" +
+                "not json\n" +
+                "\n" +
+                "{\"medicamentoId\":" +
+                medicamento.getId() +
+                ",\"delta\":-1}\n";
+
+            restInventarioMockMvc
+                .perform(post(ENTITY_API_URL + "/movements").contentType("application/x-ndjson").content(movements))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].status").value(contains("APPLIED", "INVALID", "APPLIED")));
+
+            assertThat(inventarioRepository.findById(stocked.getId()).orElseThrow().getCantidadStock()).isEqualTo(2);
+        } finally {
+            inventarioRepository.deleteById(stocked.getId());
+            medicamentoRepository.deleteById(medicamento.getId());
+        }
+    }
+
+    private static StockMovementVM stockMovement(int cantidad) {
+        StockMovementVM movement = new StockMovementVM();
+        movement.setCantidad(cantidad);
+        return movement;
+    }
+
+    @Test
+    @Transactional
+    void getInventarioReturnsETag() throws Exception {
+        // Initialize the database
+        inventarioRepository.saveAndFlush(inventario);
+
+        restInventarioMockMvc
+            .perform(get(ENTITY_API_URL_ID, inventario.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + inventario.getVersion() + "\""))
+            .andExpect(jsonPath("$.version").value(inventario.getVersion().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void putInventarioWithIfMatch() throws Exception {
+        // Initialize the database
+        inventarioRepository.saveAndFlush(inventario);
+        Long version = inventario.getVersion();
+
+        Inventario updatedInventario = inventarioRepository.findById(inventario.getId()).orElseThrow();
+        em.detach(updatedInventario);
+        updatedInventario.cantidadStock(UPDATED_CANTIDAD_STOCK);
+
+        // A stale entity tag is rejected
+        restInventarioMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedInventario.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (version + 1) + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedInventario))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // The current entity tag is accepted, and the new one is returned
+        restInventarioMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedInventario.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedInventario))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+    }
+
+    @Test
+    @Transactional
+    void patchInventarioWithStaleVersion() throws Exception {
+        // Initialize the database
+        inventarioRepository.saveAndFlush(inventario);
+
+        Inventario partialUpdatedInventario = new Inventario();
+        partialUpdatedInventario.setId(inventario.getId());
+        partialUpdatedInventario.setVersion(inventario.getVersion() - 1);
+        partialUpdatedInventario.cantidadStock(UPDATED_CANTIDAD_STOCK);
+
+        restInventarioMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedInventario.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedInventario))
+            )
+            .andExpect(status().isConflict());
+    }
+
     @Test
     @Transactional
     void deleteInventario() throws Exception {
@@ -1,21 +1,31 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Inventario;
 import com.mycompany.myapp.domain.Medicamento;
+import com.mycompany.myapp.repository.InventarioRepository;
 import com.mycompany.myapp.repository.MedicamentoRepository;
+import com.mycompany.myapp.service.MedicamentoSuggestionService;
 import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -47,6 +57,12 @@ class MedicamentoResourceIT {
     @Autowired
     private MedicamentoRepository medicamentoRepository;
 
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private MedicamentoSuggestionService medicamentoSuggestionService;
+
     @Autowired
     private EntityManager em;
 
@@ -166,7 +182,162 @@ class MedicamentoResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(medicamento.getId().intValue())))
             .andExpect(jsonPath("$.[*].nombre").value(hasItem(DEFAULT_NOMBRE)))
             .andExpect(jsonPath("$.[*].descripcion").value(hasItem(DEFAULT_DESCRIPCION)))
-            .andExpect(jsonPath("$.[*].precio").value(hasItem(DEFAULT_PRECIO.doubleValue())));
+            .andExpect(jsonPath("$.[*].precio").value(hasItem(DEFAULT_PRECIO.doubleValue())))
+            .andExpect(jsonPath("$.[*].version").value(hasItem(medicamento.getVersion().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllMedicamentosDoesNotLoadEntities() throws Exception {
+        // Initialize the database
+        medicamentoRepository.saveAndFlush(medicamento);
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Get a page of the medicamentoList
+        restMedicamentoMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(medicamento.getId().intValue())));
+
+        // The page is read as summaries, neither from the database nor from the second-level cache as entities
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void getAllMedicamentosIsPaginated() throws Exception {
+        // Initialize the database
+        medicamentoRepository.saveAndFlush(medicamento);
+        medicamentoRepository.saveAndFlush(createEntity(em));
+
+        // Get the first page of the medicamentoList
+        restMedicamentoMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", String.valueOf(medicamentoRepository.count())))
+            .andExpect(header().string("Link", containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @Transactional
+    void getAllMedicamentosWithUnknownSortProperty() throws Exception {
+        restMedicamentoMockMvc.perform(get(ENTITY_API_URL + "?sort=inventario,desc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllMedicamentosByKeyset() throws Exception {
+        // Initialize the database
+        Medicamento first = medicamentoRepository.saveAndFlush(createEntity(em));
+        Medicamento second = medicamentoRepository.saveAndFlush(createEntity(em));
+        Medicamento third = medicamentoRepository.saveAndFlush(createEntity(em));
+
+        // Get the keyset page following the first medicamento
+        restMedicamentoMockMvc
+            .perform(get(ENTITY_API_URL + "?afterId=" + first.getId() + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", containsString("afterId=" + second.getId())))
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()));
+
+        // The last keyset page has no next link
+        restMedicamentoMockMvc
+            .perform(get(ENTITY_API_URL + "?afterId=" + second.getId() + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Link"))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllMedicamentosDoesNotLoadInventarios() throws Exception {
+        // Initialize the database with stocked medicamentos
+        Medicamento first = medicamentoRepository.saveAndFlush(createEntity(em));
+        for (int i = 0; i < 3; i++) {
+            Medicamento stockedMedicamento = medicamentoRepository.saveAndFlush(createEntity(em));
+            em.persist(InventarioResourceIT.createEntity(em).medicamento(stockedMedicamento));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Get a keyset page of the medicamentoList
+        restMedicamentoMockMvc
+            .perform(get(ENTITY_API_URL + "?afterId=" + first.getId() + "&size=3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(3)));
+
+        // A single statement for the page, and none for the inventario of each medicamento
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void getAllMedicamentosWhereInventarioIsNull() throws Exception {
+        // Initialize the database
+        medicamentoRepository.saveAndFlush(medicamento);
+        Medicamento stockedMedicamento = medicamentoRepository.saveAndFlush(createEntity(em));
+        Inventario inventario = InventarioResourceIT.createEntity(em).medicamento(stockedMedicamento);
+        em.persist(inventario);
+        em.flush();
+
+        // Get the medicamentoList without inventario
+        restMedicamentoMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=inventario-is-null&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", String.valueOf(medicamentoRepository.countWhereInventarioIsNull())))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(medicamento.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(stockedMedicamento.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllMedicamentosWhereInventarioIsNullByNombre() throws Exception {
+        // Initialize the database
+        medicamentoRepository.saveAndFlush(medicamento);
+        Medicamento otherMedicamento = medicamentoRepository.saveAndFlush(createEntity(em).nombre(UPDATED_NOMBRE));
+        Medicamento stockedMedicamento = medicamentoRepository.saveAndFlush(createEntity(em));
+        Inventario inventario = InventarioResourceIT.createEntity(em).medicamento(stockedMedicamento);
+        em.persist(inventario);
+        em.flush();
+
+        // Get the medicamentos without inventario whose nombre starts with the prefix
+        restMedicamentoMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=inventario-is-null&nombre=" + DEFAULT_NOMBRE.substring(0, 3) + "&size=20&sort=nombre,asc"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(medicamento.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(otherMedicamento.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(stockedMedicamento.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void countMedicamentos() throws Exception {
+        // Initialize the database
+        medicamentoRepository.saveAndFlush(medicamento);
+        long countWhereInventarioIsNull = medicamentoRepository.countWhereInventarioIsNull();
+        Medicamento stockedMedicamento = medicamentoRepository.saveAndFlush(createEntity(em));
+        em.persist(InventarioResourceIT.createEntity(em).medicamento(stockedMedicamento));
+        em.flush();
+
+        restMedicamentoMockMvc
+            .perform(get(ENTITY_API_URL + "/count"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(String.valueOf(medicamentoRepository.count())));
+
+        restMedicamentoMockMvc
+            .perform(get(ENTITY_API_URL + "/count?filter=inventario-is-null"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(String.valueOf(countWhereInventarioIsNull)));
     }
 
     @Test
@@ -224,20 +395,47 @@ class MedicamentoResourceIT {
         assertThat(testMedicamento.getPrecio()).isEqualTo(UPDATED_PRECIO);
     }
 
+    @Test
+    @Transactional
+    void putMedicamentoStatementCount() throws Exception {
+        // Initialize the database
+        medicamentoRepository.saveAndFlush(medicamento);
+        em.detach(medicamento);
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        medicamento.nombre(UPDATED_NOMBRE);
+        restMedicamentoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, medicamento.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(medicamento))
+            )
+            .andExpect(status().isOk());
+
+        // A single select to load the medicamento, then a single update: no existence check and no merge
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
     @Test
     @Transactional
     void putNonExistingMedicamento() throws Exception {
         int databaseSizeBeforeUpdate = medicamentoRepository.findAll().size();
         medicamento.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An unknown id is reported as not found
         restMedicamentoMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, medicamento.getId())
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(medicamento))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Medicamento in the database
         List<Medicamento> medicamentoList = medicamentoRepository.findAll();
@@ -348,14 +546,14 @@ class MedicamentoResourceIT {
         int databaseSizeBeforeUpdate = medicamentoRepository.findAll().size();
         medicamento.setId(count.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // An unknown id is reported as not found
         restMedicamentoMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, medicamento.getId())
                     .contentType("application/merge-patch+json")
                     .content(TestUtil.convertObjectToJsonBytes(medicamento))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Medicamento in the database
         List<Medicamento> medicamentoList = medicamentoRepository.findAll();
@@ -400,6 +598,148 @@ class MedicamentoResourceIT {
         assertThat(medicamentoList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    void searchMedicamentos() throws Exception {
+        // The search index is only updated once a transaction commits, so this test does not run in a rolled back transaction
+        Medicamento ibuprofeno = medicamentoRepository.saveAndFlush(
+            createEntity(em).nombre("Ibuprofeno 400").descripcion("Antiinflamatorio no esteroideo")
+        );
+        Medicamento acido = medicamentoRepository.saveAndFlush(
+            createEntity(em).nombre("Ácido acetilsalicílico").descripcion("Analgésico y antiinflamatorio")
+        );
+        try {
+            restMedicamentoMockMvc
+                .perform(get("/api/_search/medicamentos?q=antiinflam"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$.[*].id").value(contains(ibuprofeno.getId().intValue(), acido.getId().intValue())));
+
+            restMedicamentoMockMvc
+                .perform(get("/api/_search/medicamentos?q=ACIDO analges"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(contains(acido.getId().intValue())));
+
+            acido.setNombre("Aspirina");
+            acido = medicamentoRepository.saveAndFlush(acido);
+            restMedicamentoMockMvc
+                .perform(get("/api/_search/medicamentos?q=acido"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+        } finally {
+            medicamentoRepository.deleteById(ibuprofeno.getId());
+            medicamentoRepository.deleteById(acido.getId());
+        }
+
+        restMedicamentoMockMvc
+            .perform(get("/api/_search/medicamentos?q=ibuprofeno"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void suggestMedicamentos() throws Exception {
+        // The suggestions are rebuilt from committed data, so this test does not run in a rolled back transaction
+        Medicamento lowStock = medicamentoRepository.saveAndFlush(createEntity(em).nombre("Zolpidem 5mg"));
+        Medicamento highStock = medicamentoRepository.saveAndFlush(createEntity(em).nombre("Zolpidem 10mg"));
+        Medicamento noStock = medicamentoRepository.saveAndFlush(createEntity(em).nombre("Zoledrónico"));
+        Inventario lowInventario = inventarioRepository.saveAndFlush(
+            InventarioResourceIT.createEntity(em).cantidadStock(3).medicamento(lowStock)
+        );
+        Inventario highInventario = inventarioRepository.saveAndFlush(
+            InventarioResourceIT.createEntity(em).cantidadStock(30).medicamento(highStock)
+        );
+        try {
+            medicamentoSuggestionService.rebuildIndex();
+
+            restMedicamentoMockMvc
+                .perform(get(ENTITY_API_URL + "/suggestions?prefix=ZOL"))
+                .andExpect(status().isOk())
+                .andExpect(
+                    jsonPath("$.[*].id")
+                        .value(contains(highStock.getId().intValue(), lowStock.getId().intValue(), noStock.getId().intValue()))
+                )
+                .andExpect(jsonPath("$.[*].cantidadStock").value(contains(30, 3, 0)));
+
+            restMedicamentoMockMvc
+                .perform(get(ENTITY_API_URL + "/suggestions?prefix=zole&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].nombre").value(contains("Zoledrónico")));
+        } finally {
+            inventarioRepository.deleteById(lowInventario.getId());
+            inventarioRepository.deleteById(highInventario.getId());
+            medicamentoRepository.deleteById(lowStock.getId());
+            medicamentoRepository.deleteById(highStock.getId());
+            medicamentoRepository.deleteById(noStock.getId());
+            medicamentoSuggestionService.rebuildIndex();
+        }
+    }
+
+    @Test
+    @Transactional
+    void getMedicamentoReturnsETag() throws Exception {
+        // Initialize the database
+        medicamentoRepository.saveAndFlush(medicamento);
+
+        restMedicamentoMockMvc
+            .perform(get(ENTITY_API_URL_ID, medicamento.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + medicamento.getVersion() + "\""))
+            .andExpect(jsonPath("$.version").value(medicamento.getVersion().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void putMedicamentoWithIfMatch() throws Exception {
+        // Initialize the database
+        medicamentoRepository.saveAndFlush(medicamento);
+        Long version = medicamento.getVersion();
+
+        Medicamento updatedMedicamento = medicamentoRepository.findById(medicamento.getId()).orElseThrow();
+        em.detach(updatedMedicamento);
+        updatedMedicamento.nombre(UPDATED_NOMBRE);
+
+        // A stale entity tag is rejected
+        restMedicamentoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedMedicamento.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (version + 1) + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedMedicamento))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // The current entity tag is accepted, and the new one is returned
+        restMedicamentoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedMedicamento.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedMedicamento))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""));
+    }
+
+    @Test
+    @Transactional
+    void patchMedicamentoWithStaleVersion() throws Exception {
+        // Initialize the database
+        medicamentoRepository.saveAndFlush(medicamento);
+
+        Medicamento partialUpdatedMedicamento = new Medicamento();
+        partialUpdatedMedicamento.setId(medicamento.getId());
+        partialUpdatedMedicamento.setVersion(medicamento.getVersion() - 1);
+        partialUpdatedMedicamento.nombre(UPDATED_NOMBRE);
+
+        restMedicamentoMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedMedicamento.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedMedicamento))
+            )
+            .andExpect(status().isConflict());
+    }
+
     @Test
     @Transactional
     void deleteMedicamento() throws Exception {
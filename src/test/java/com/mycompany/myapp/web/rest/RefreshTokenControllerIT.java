@@ -0,0 +1,126 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.jwt.TokenProvider;
+import com.mycompany.myapp.web.rest.vm.RefreshTokenVM;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link RefreshTokenController} REST controller.
+ */
+@AutoConfigureMockMvc
+@IntegrationTest
+@Transactional
+class RefreshTokenControllerIT {
+
+    private static final String LOGIN = "user-refresh-token";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void initUser() {
+        User user = new User();
+        user.setLogin(LOGIN);
+        user.setEmail(LOGIN + "@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+        userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    void testRefresh() throws Exception {
+        String refreshToken = tokenProvider.createRefreshToken(LOGIN, false);
+
+        refresh(refreshToken)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
+            .andExpect(header().exists(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    void testRefreshTokenCanOnlyBeUsedOnce() throws Exception {
+        String refreshToken = tokenProvider.createRefreshToken(LOGIN, true);
+
+        refresh(refreshToken).andExpect(status().isOk());
+        refresh(refreshToken).andExpect(status().isUnauthorized()).andExpect(jsonPath("$.id_token").doesNotExist());
+    }
+
+    @Test
+    void testRefreshWithAccessTokenFails() throws Exception {
+        refresh(accessToken()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testRefreshTokenIsNotABearerToken() throws Exception {
+        String refreshToken = tokenProvider.createRefreshToken(LOGIN, false);
+
+        mockMvc.perform(get("/api/account").header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testRevoke() throws Exception {
+        String accessToken = accessToken();
+        String refreshToken = tokenProvider.createRefreshToken(LOGIN, false);
+        mockMvc.perform(get("/api/account").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)).andExpect(status().isOk());
+
+        RefreshTokenVM refreshTokenVM = new RefreshTokenVM();
+        refreshTokenVM.setRefreshToken(refreshToken);
+        mockMvc
+            .perform(
+                post("/api/authenticate/revoke")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(refreshTokenVM))
+            )
+            .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/account").header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)).andExpect(status().isUnauthorized());
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    private String accessToken() {
+        return tokenProvider.createAccessToken(
+            UsernamePasswordAuthenticationToken.authenticated(LOGIN, null, List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER)))
+        );
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        RefreshTokenVM refreshTokenVM = new RefreshTokenVM();
+        refreshTokenVM.setRefreshToken(refreshToken);
+        return mockMvc.perform(
+            post("/api/authenticate/refresh").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(refreshTokenVM))
+        );
+    }
+}